@@ -0,0 +1,53 @@
+package tp1.bench;
+
+import tp1.exceptions.OffBoardException;
+import tp1.logic.Game;
+import tp1.logic.Position;
+import tp1.logic.gameobjects.Box;
+import tp1.logic.gameobjects.Goomba;
+import tp1.logic.gameobjects.Land;
+import tp1.logic.gameobjects.Mario;
+import tp1.logic.gameobjects.Mushroom;
+
+/**
+ * Niveles para los benchmarks: los de Game (0, 1, 2) y uno sintético denso.
+ */
+final class BenchLevels {
+
+    // Nivel sintético: en lugar de un número de nivel de Game
+    static final int DENSE = 99;
+
+    private BenchLevels() {
+    }
+
+    static Game create(int level) {
+        if (level != DENSE) {
+            return new Game(level);
+        }
+        // Mapa vacío (modo creativo) que rellenamos a mano
+        Game game = new Game(-1);
+        try {
+            game.addObject(new Mario(game, Position.of(Game.DIM_Y - 3, 0)));
+            for (int col = 0; col < Game.DIM_X; col++) {
+                game.addObject(new Land(game, Position.of(Game.DIM_Y - 1, col)));
+                game.addObject(new Land(game, Position.of(Game.DIM_Y - 2, col)));
+                // Plataformas cada tres filas con huecos para que caigan cosas
+                for (int row = 2; row < Game.DIM_Y - 3; row += 3) {
+                    if ((col + row) % 5 != 0) {
+                        game.addObject(new Land(game, Position.of(row, col)));
+                    }
+                }
+            }
+            for (int col = 0; col < Game.DIM_X; col += 2) {
+                for (int row = 1; row < Game.DIM_Y - 3; row += 3) {
+                    game.addObject(new Goomba(game, Position.of(row, col)));
+                    game.addObject(new Mushroom(game, Position.of(row, col + 1)));
+                }
+            }
+            game.addObject(new Box(game, Position.of(Game.DIM_Y - 6, 4)));
+        } catch (OffBoardException e) {
+            throw new IllegalStateException(e);
+        }
+        return game;
+    }
+}
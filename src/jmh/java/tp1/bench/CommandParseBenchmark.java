@@ -0,0 +1,47 @@
+package tp1.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import tp1.control.commands.CommandGenerator;
+import tp1.exceptions.CommandParseException;
+
+/**
+ * Coste de CommandGenerator.parse sobre una mezcla de comandos habituales.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandParseBenchmark {
+
+    private static final String[][] COMMANDS = {
+        { "u" },
+        { "update" },
+        { "a", "r", "r", "u" },
+        { "action", "LEFT", "DOWN" },
+        { "aO", "(3,4)", "Goomba" },
+        { "reset", "1" },
+        { "l", "file.txt" },
+        { "h" },
+    };
+
+    @Benchmark
+    public void parse(Blackhole bh) throws CommandParseException {
+        for (String[] words : COMMANDS) {
+            bh.consume(CommandGenerator.parse(words));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package tp1.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tp1.logic.Game;
+
+/**
+ * Coste de un tick de Game.update() en los niveles 0, 1, 2 y en el denso.
+ * Cuando la partida termina (se acaba el tiempo) se vuelve a crear el nivel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameUpdateBenchmark {
+
+    @Param({ "0", "1", "2", "99" })
+    public int level;
+
+    private Game game;
+
+    @Setup
+    public void setup() {
+        game = BenchLevels.create(level);
+    }
+
+    @Benchmark
+    public Game update() {
+        if (game.isFinished()) {
+            game = BenchLevels.create(level);
+        }
+        game.update();
+        return game;
+    }
+}
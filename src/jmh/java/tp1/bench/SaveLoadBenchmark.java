@@ -0,0 +1,96 @@
+package tp1.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tp1.exceptions.GameLoadException;
+import tp1.exceptions.GameModelException;
+import tp1.logic.FileGameConfiguration;
+import tp1.logic.Game;
+import tp1.logic.GameConfiguration;
+
+/**
+ * Coste de Game.save (con la escritura en segundo plano), del autoguardado
+ * y de leer la partida con FileGameConfiguration / Game.load.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveLoadBenchmark {
+
+    @Param({ "2", "99" })
+    public int level;
+
+    private Game game;
+    private String saveFile;
+    private String loadFile;
+    // Partida que se autoguarda en cada ciclo (ver autosaveTick)
+    private Game autosaved;
+    private String autosaveFile;
+
+    @Setup
+    public void setup() throws IOException, GameModelException {
+        game = BenchLevels.create(level);
+        saveFile = File.createTempFile("bench-save", ".txt").getPath();
+        loadFile = File.createTempFile("bench-load", ".txt").getPath();
+        game.save(loadFile);
+        game.awaitSaves();
+        autosaved = BenchLevels.create(level);
+        autosaveFile = File.createTempFile("bench-autosave", ".wal").getPath();
+        autosaved.setAutosave(autosaveFile, 1, Game.AUTOSAVE_CHECKPOINT_EVERY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        new File(saveFile).delete();
+        new File(loadFile).delete();
+        autosaved.awaitSaves();
+        new File(autosaveFile).delete();
+    }
+
+    // Guardado completo, hasta que el fichero está en disco
+    @Benchmark
+    public void save() throws GameModelException {
+        game.save(saveFile);
+        game.awaitSaves();
+    }
+
+    // Un ciclo con su autoguardado en disco, para comparar con update + save
+    @Benchmark
+    public Game autosaveTick() throws GameLoadException {
+        if (autosaved.isFinished()) {
+            autosaved.load(loadFile);
+        }
+        autosaved.update();
+        autosaved.awaitSaves();
+        return autosaved;
+    }
+
+    @Benchmark
+    public GameConfiguration parse() throws GameLoadException {
+        return new FileGameConfiguration(loadFile, game);
+    }
+
+    @Benchmark
+    public Game load() throws GameLoadException {
+        game.load(loadFile);
+        return game;
+    }
+}
@@ -0,0 +1,99 @@
+package tp1.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tp1.exceptions.GameLoadException;
+import tp1.exceptions.GameModelException;
+import tp1.logic.BinaryGameConfiguration;
+import tp1.logic.Game;
+import tp1.logic.Position;
+import tp1.logic.gameobjects.Goomba;
+
+/**
+ * Coste de un tick con muchísimos Goombas en un tablero ancho, con los
+ * Goombas como objetos o en el MoverStore (Game.setMoverStore).
+ * Mario está encerrado en una esquina para que la partida no se reinicie.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SwarmBenchmark {
+
+    private static final int ROWS = 16;
+    private static final int COLS = 30000;
+
+    @Param({ "100000" })
+    public int goombas;
+
+    @Param({ "false", "true" })
+    public boolean moverStore;
+
+    private Game game;
+    private String levelFile;
+
+    @Setup
+    public void setup() throws IOException, GameLoadException, GameModelException {
+        // El tablero se crea desde texto (por la cabecera) y los Goombas se
+        // añaden aquí; la partida se guarda en binario para recargarla
+        File text = File.createTempFile("bench-swarm", ".txt");
+        try (PrintWriter out = new PrintWriter(text)) {
+            out.println(Game.BOARD_HEADER + " " + ROWS + " " + COLS);
+            out.println("1000 0 3");
+            out.println("(0,0) Mario RIGHT SMALL");
+            out.println("(1,0) Land");
+            out.println("(1,1) Land");
+            out.println("(0,1) Land");
+            for (int col = 0; col < COLS; col++) {
+                out.println("(" + (ROWS - 1) + "," + col + ") Land");
+            }
+        }
+        Game builder = new Game(0);
+        builder.load(text.getPath());
+        text.delete();
+        // Apilados por columnas desde el suelo, a partir de la columna 5
+        for (int i = 0; i < goombas; i++) {
+            int row = ROWS - 2 - (3 * i) / (COLS - 5);
+            int col = 5 + (3 * i) % (COLS - 5);
+            builder.addObject(new Goomba(builder, Position.of(row, col)));
+        }
+        levelFile = File.createTempFile("bench-swarm", BinaryGameConfiguration.EXTENSION).getPath();
+        builder.saveBinary(levelFile);
+
+        game = new Game(0);
+        game.setMoverStore(moverStore);
+        game.load(levelFile);
+    }
+
+    @TearDown
+    public void tearDown() {
+        new File(levelFile).delete();
+    }
+
+    @Benchmark
+    public Game update() throws GameLoadException {
+        if (game.isFinished()) {
+            game.load(levelFile);
+        }
+        game.update();
+        return game;
+    }
+}
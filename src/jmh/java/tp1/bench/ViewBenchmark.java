@@ -0,0 +1,81 @@
+package tp1.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import tp1.logic.Game;
+import tp1.view.ConsoleColorsView;
+import tp1.view.ConsoleView;
+import tp1.view.Messages;
+
+/**
+ * Coste de pintar un frame completo y de formatear casillas sueltas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewBenchmark {
+
+    // Da acceso a consoleCell, que es protected
+    static class CellView extends ConsoleColorsView {
+        CellView(Game game) {
+            super(game);
+        }
+
+        String cell(String celStr) {
+            return consoleCell(celStr);
+        }
+    }
+
+    // Contenidos típicos de casilla, incluidas combinaciones
+    private static final String[] CELLS = {
+        Messages.EMPTY, Messages.LAND, Messages.EXIT_DOOR, Messages.GOOMBA,
+        Messages.MARIO_RIGHT, Messages.MUSHROOM, Messages.BOX,
+        Messages.MARIO_LEFT + Messages.GOOMBA, Messages.MARIO_STOP + Messages.EXIT_DOOR
+    };
+
+    @Param({ "1", "99" })
+    public int level;
+
+    private ConsoleView plainView;
+    private CellView colorsView;
+
+    @Setup
+    public void setup() {
+        Game game = BenchLevels.create(level);
+        plainView = new ConsoleView(game);
+        colorsView = new CellView(game);
+    }
+
+    @Benchmark
+    public String plainFrame() {
+        return plainView.toString();
+    }
+
+    @Benchmark
+    public String colorsFrame() {
+        return colorsView.toString();
+    }
+
+    @Benchmark
+    public void colorsCells(Blackhole bh) {
+        for (String cell : CELLS) {
+            bh.consume(colorsView.cell(cell));
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package tp1;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Locale;
 
 import tp1.control.Controller;
+import tp1.control.InputJournal;
+import tp1.control.SimulationEngine;
+import tp1.control.SimulationResult;
+import tp1.exceptions.GameModelException;
 import tp1.logic.Game;
 import tp1.view.ConsoleColorsView;
 import tp1.view.ConsoleView;
 import tp1.view.GameView;
+import tp1.view.HeadlessView;
+import tp1.view.IncrementalConsoleView;
 import tp1.view.Messages;
 
 //Nicole Vergara
@@ -16,25 +27,87 @@ public class Main {
 	/**
 	 * Entry point
 	 * 
-	 * @param args Arguments for the game.
+	 * @param args Arguments for the game:
+	 *             [level] [--incremental | --headless --script file] [--journal file] [--autosave file] | --replay file
 	 */
 	public static void main(String[] args) {
 		// Required to avoid issues with tests
         Locale.of("es", "ES");
-		
+
+		// Modo sin tablero: "--headless --script fichero" en cualquier posición
+		boolean headless = false;
+		boolean incremental = false;
+		String scriptFile = null;
+		String journalFile = null;
+		String replayFile = null;
+		String autosaveFile = null;
+		String[] positional = new String[args.length];
+		int nPositional = 0;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals(Messages.HEADLESS_OPTION)) headless = true;
+			else if (args[i].equals(Messages.INCREMENTAL_OPTION)) incremental = true;
+			else if (args[i].equals(Messages.SCRIPT_OPTION) && i + 1 < args.length) scriptFile = args[++i];
+			else if (args[i].equals(Messages.JOURNAL_OPTION) && i + 1 < args.length) journalFile = args[++i];
+			else if (args[i].equals(Messages.REPLAY_OPTION) && i + 1 < args.length) replayFile = args[++i];
+			else if (args[i].equals(Messages.AUTOSAVE_OPTION) && i + 1 < args.length) autosaveFile = args[++i];
+			else positional[nPositional++] = args[i];
+		}
+
+		if (headless && scriptFile == null) {
+			System.out.println(Messages.USAGE);
+			return;
+		}
+
+		// Reproducir un diario: a toda velocidad y sin pintar, solo el resumen
+		if (replayFile != null) {
+			replay(replayFile);
+			return;
+		}
+
 		try {
 			
 			int nLevel = 0;
-			if (args.length != 0) nLevel = Integer.parseInt(args[0]);
+			if (nPositional != 0) nLevel = Integer.parseInt(positional[0]);
 
             Game game = new Game(nLevel);
-            GameView view = args.length>1 ? new ConsoleView(game): new ConsoleColorsView(game);
-            Controller controller = new Controller(game, view);
+            // Autoguardado para recuperar la partida con load tras una caída
+            if (autosaveFile != null) game.setAutosave(autosaveFile, Game.AUTOSAVE_TICKS, Game.AUTOSAVE_CHECKPOINT_EVERY);
+            GameView view;
+            if (headless) view = new HeadlessView(game, scriptFile);
+            else if (incremental) view = new IncrementalConsoleView(game);
+            else view = nPositional>1 ? new ConsoleView(game): new ConsoleColorsView(game);
+            // El jugador puede usar undo cuando quiera; un guion, solo si lo trae
+            if (!headless || scriptUsesUndo(scriptFile)) game.setUndoHistory(true);
+            InputJournal journal = null;
+            if (journalFile != null) journal = new InputJournal(journalFile, nLevel);
+            Controller controller = new Controller(game, view, journal);
 					
 			controller.run();
 
 		} catch (NumberFormatException e) {
-			System.out.println(String.format(Messages.LEVEL_NOT_A_NUMBER_ERROR, args[0]));
+			System.out.println(String.format(Messages.LEVEL_NOT_A_NUMBER_ERROR, positional[0]));
+		} catch (FileNotFoundException e) {
+			if (scriptFile != null && headless) System.out.println(Messages.SCRIPT_NOT_FOUND.formatted(scriptFile));
+			else System.out.println(Messages.JOURNAL_ERROR.formatted(e.getMessage()));
+		} catch (IOException e) {
+			System.out.println(Messages.JOURNAL_ERROR.formatted(e.getMessage()));
+		} catch (GameModelException e) {
+			System.out.println(Messages.AUTOSAVE_ERROR.formatted(e.getMessage()));
+		}
+	}
+
+	// Solo se buscan nombres de comando (ASCII): ISO-8859-1 lee cualquier byte
+	private static boolean scriptUsesUndo(String scriptFile) throws IOException {
+		return SimulationEngine.usesUndo(Files.readAllLines(Paths.get(scriptFile), StandardCharsets.ISO_8859_1));
+	}
+
+	private static void replay(String replayFile) {
+		try {
+			SimulationResult result = SimulationEngine.runOne(InputJournal.read(replayFile));
+			System.out.println(Messages.HEADLESS_SUMMARY.formatted(result.getOutcome(),
+					result.getRemainingTime(), result.getPoints(), result.getLives()));
+		} catch (IOException e) {
+			System.out.println(Messages.REPLAY_ERROR.formatted(e.getMessage()));
 		}
 	}
 }
@@ -1,8 +1,11 @@
 package tp1.control;
+import java.io.IOException;
+
 import tp1.exceptions.CommandExecuteException;
 import tp1.control.commands.Command;
 import tp1.control.commands.CommandGenerator;
 import tp1.logic.GameModel;
+import tp1.logic.SaveResult;
 import tp1.view.GameView;
 import tp1.view.Messages;
 
@@ -14,10 +17,17 @@ public class Controller {
 	//unica clase q puede hablar con el usuario-->le tienen que llegar todos las exceptions
     private GameModel game;
     private GameView view;
+    private InputJournal journal; //null si no se graba la partida
+    private int commandErrors; //comandos que fallaron, para el diario
 
     public Controller(GameModel game, GameView view) {
+        this(game, view, null);
+    }
+
+    public Controller(GameModel game, GameView view, InputJournal journal) {
         this.game = game;
         this.view = view;
+        this.journal = journal;
     }
 
     
@@ -28,6 +38,7 @@ public class Controller {
 
         while (!game.isFinished()) {
             String[] words = view.getPrompt();
+            record(words);
 
             try {
                 Command command = CommandGenerator.parse(words);
@@ -35,15 +46,71 @@ public class Controller {
             } 
             //si falla algo intentando parsear o ejecutar->le llega a esta funcion
             catch (tp1.exceptions.CommandException e) {
-            	//muestra el mensaje de error y TODAS Las causas internas
-                view.showError(e.getMessage());
-                Throwable cause = e.getCause();
-                while (cause != null) {
-                    view.showError(cause.getMessage());
-                    cause = cause.getCause();
-                }
+                commandErrors++;
+                showErrors(e);
             }
+            reportSaves();
         }
+        //no se sale sin terminar de escribir las partidas guardadas
+        game.awaitSaves();
+        reportSaves();
         view.showEndMessage();
+        finishJournal();
+    }
+
+    //muestra el mensaje de error y TODAS Las causas internas
+    private void showErrors(Throwable e) {
+        view.showError(e.getMessage());
+        Throwable cause = e.getCause();
+        while (cause != null) {
+            view.showError(cause.getMessage());
+            cause = cause.getCause();
+        }
+    }
+
+    //Avisa de los guardados que han terminado desde la última vez
+    private void reportSaves() {
+        for (SaveResult saved = game.pollSave(); saved != null; saved = game.pollSave()) {
+            if (saved.getError() == null) {
+                view.showMessage(Messages.GAME_SAVED.formatted(saved.getFileName()));
+            } else {
+                showErrors(saved.getError());
+            }
+        }
+    }
+
+    //Graba el comando en el diario; si falla se avisa y se deja de grabar
+    private void record(String[] words) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.record(game.cycle(), words);
+        } catch (IOException e) {
+            view.showError(Messages.JOURNAL_ERROR.formatted(e.getMessage()));
+            closeJournal();
+        }
+    }
+
+    //Apunta en el diario cómo acabó la partida, para comprobarlo al reproducirla
+    private void finishJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.finish(commandErrors, game.cycle(), game.toString());
+        } catch (IOException e) {
+            view.showError(Messages.JOURNAL_ERROR.formatted(e.getMessage()));
+        }
+        closeJournal();
+    }
+
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException ignore) {} //ignoramos error
+            journal = null;
+        }
     }
 }
\ No newline at end of file
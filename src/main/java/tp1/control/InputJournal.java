@@ -0,0 +1,131 @@
+package tp1.control;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Diario de entrada: guarda, en orden y solo añadiendo al final, cada
+ * comando que llega al Controller junto con el ciclo de juego en que llegó.
+ *
+ * Formato: MAGIC(4) nivel(4), y por cada comando ciclo(4) longitud(4) y la
+ * línea en UTF-8 (la versión 1 usaba writeUTF, que no admite líneas de más
+ * de 64 KB; se sigue pudiendo leer). Al acabar la partida se añade un
+ * registro final END(4) con los comandos que fallaron(4), el ciclo(4) y una
+ * suma de comprobación del estado(4) (ver {@link #finish}). Cada registro se
+ * vuelca al disco en cuanto se escribe, así el diario sirve aunque el
+ * programa acabe mal, solo que sin registro final. Para reproducir la
+ * partida basta con volver a ejecutar los comandos sobre un Game(nivel)
+ * nuevo (ver {@link #read}), comprobando que cada uno llega en el mismo
+ * ciclo que al grabarlo y que se acaba igual.
+ */
+public class InputJournal implements Closeable {
+
+    private static final int MAGIC = 0x4D4A4E32; // "MJN2"
+    private static final int MAGIC_V1 = 0x4D4A4E31; // "MJN1"
+    // En lugar del ciclo, marca el registro final (los ciclos no son negativos)
+    private static final int END = -1;
+
+    private DataOutputStream out;
+
+    /**
+     * Empieza un diario nuevo para una partida que arranca en el nivel dado.
+     */
+    public InputJournal(String fileName, int level) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)));
+        out.writeInt(MAGIC);
+        out.writeInt(level);
+        out.flush();
+    }
+
+    public void record(int cycle, String[] words) throws IOException {
+        byte[] line = String.join(" ", words).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(cycle);
+        out.writeInt(line.length);
+        out.write(line);
+        out.flush();
+    }
+
+    /**
+     * Escribe el registro final: cuántos comandos fallaron y cómo acabó la
+     * partida, para que al reproducirla se compruebe que termina igual.
+     * state es el texto de la partida (Game.toString, como en save).
+     */
+    public void finish(int commandErrors, int cycle, String state) throws IOException {
+        out.writeInt(END);
+        out.writeInt(commandErrors);
+        out.writeInt(cycle);
+        out.writeInt(checksum(state));
+        out.flush();
+    }
+
+    // Suma de comprobación del texto de una partida
+    static int checksum(String state) {
+        CRC32 crc = new CRC32();
+        crc.update(state.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Lee un diario completo como una partida a simular, con el ciclo en que
+     * llegó cada comando.
+     */
+    public static SimulationJob read(String fileName) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(fileName)))) {
+            int magic = in.readInt();
+            if (magic != MAGIC && magic != MAGIC_V1) {
+                throw new IOException("Not an input journal: " + fileName);
+            }
+            int level = in.readInt();
+
+            List<String> commands = new ArrayList<>();
+            List<Integer> cycles = new ArrayList<>();
+            int[] end = null;
+            while (true) {
+                try {
+                    int cycle = in.readInt();
+                    if (cycle == END && magic != MAGIC_V1) {
+                        end = new int[] { in.readInt(), in.readInt(), in.readInt() };
+                        break;
+                    }
+                    commands.add(magic == MAGIC_V1 ? in.readUTF() : readLine(in, fileName));
+                    cycles.add(cycle);
+                } catch (EOFException e) {
+                    // fin del diario (un último registro a medias se ignora)
+                    break;
+                }
+            }
+            int[] recorded = cycles.stream().mapToInt(Integer::intValue).toArray();
+            if (end == null) {
+                return new SimulationJob(level, commands, recorded);
+            }
+            return new SimulationJob(level, commands, recorded, end[0], end[1], end[2]);
+        }
+    }
+
+    private static String readLine(DataInputStream in, String fileName) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid input journal: " + fileName);
+        }
+        byte[] line = new byte[length];
+        in.readFully(line);
+        return new String(line, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,157 @@
+package tp1.control;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import tp1.control.SimulationResult.Outcome;
+import tp1.control.commands.CommandGenerator;
+import tp1.exceptions.CommandException;
+import tp1.logic.Game;
+import tp1.view.GameView;
+import tp1.view.Messages;
+import tp1.view.NullView;
+
+/**
+ * Ejecuta muchas partidas a la vez, sin vista, repartidas entre los núcleos.
+ * Cada partida tiene su propio Game; los comandos se parsean y ejecutan igual
+ * que en Controller, pero sin pintar nada.
+ */
+public class SimulationEngine {
+
+    private final int parallelism;
+
+    public SimulationEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SimulationEngine(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Simula todas las partidas y devuelve sus resultados en el mismo orden.
+     */
+    public List<SimulationResult> run(List<SimulationJob> jobs) throws InterruptedException {
+        List<Callable<SimulationResult>> tasks = new ArrayList<>(jobs.size());
+        for (SimulationJob job : jobs) {
+            tasks.add(() -> runOne(job));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<SimulationResult> results = new ArrayList<>(jobs.size());
+            for (Future<SimulationResult> f : pool.invokeAll(tasks)) {
+                try {
+                    results.add(f.get());
+                } catch (ExecutionException e) {
+                    // runOne ya recoge los fallos de la partida, no debería pasar
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Simula una partida en el hilo actual. Si es un diario (ver
+     * InputJournal), save escribe en un directorio temporal y el resultado es
+     * DIVERGED en cuanto un comando no llega en el ciclo grabado o, si el
+     * diario dice cómo acabó, cuando no fallan los mismos comandos o el
+     * estado final no es el mismo.
+     */
+    public static SimulationResult runOne(SimulationJob job) {
+        Game game = new Game(job.getLevel());
+        if (usesUndo(job.getCommands())) {
+            game.setUndoHistory(true);
+        }
+        GameView view = new NullView(game);
+        List<String> commands = job.getCommands();
+        int[] cycles = job.getCycles();
+        int commandsRun = 0;
+        int errors = 0;
+        Path sandbox = null;
+
+        try {
+            if (cycles != null) {
+                // Un diario se reproduce sin escribir en los ficheros reales: lo
+                // que guarde la partida va a un directorio temporal
+                sandbox = Files.createTempDirectory("replay");
+                game.setFileSandbox(sandbox);
+            }
+            for (int i = 0; i < commands.size(); i++) {
+                if (game.isFinished()) {
+                    break;
+                }
+                if (cycles != null && cycles[i] != game.cycle()) {
+                    return result(job, Outcome.DIVERGED, game, commandsRun, errors);
+                }
+                commandsRun++;
+                try {
+                    CommandGenerator.parse(commands.get(i).trim().split("\\s+")).execute(game, view);
+                } catch (CommandException e) {
+                    errors++;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return result(job, Outcome.CRASH, game, commandsRun, errors);
+        } finally {
+            game.awaitSaves(); // los save del script quedan escritos al terminar
+            deleteSandbox(sandbox);
+        }
+        if (job.isEnded() && (errors != job.getCommandErrors() || game.cycle() != job.getFinalCycle()
+                || InputJournal.checksum(game.toString()) != job.getFinalState())) {
+            return result(job, Outcome.DIVERGED, game, commandsRun, errors);
+        }
+        return result(job, outcome(game), game, commandsRun, errors);
+    }
+
+    private static void deleteSandbox(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException ignore) {} //ignoramos error
+    }
+
+    /**
+     * Dice si algún comando del guion es undo. El historial de undo cuesta en
+     * cada ciclo, así que las partidas sin jugador solo lo activan si hace falta.
+     */
+    public static boolean usesUndo(List<String> commands) {
+        for (String line : commands) {
+            String name = line.trim().split("\\s+")[0];
+            if (name.equalsIgnoreCase(Messages.COMMAND_UNDO_NAME)
+                    || name.equalsIgnoreCase(Messages.COMMAND_UNDO_SHORTCUT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Outcome outcome(Game game) {
+        if (game.playerWins()) return Outcome.WIN;
+        if (game.playerLoses()) return Outcome.LOSE;
+        if (game.isFinished()) return Outcome.EXIT;
+        return Outcome.UNFINISHED;
+    }
+
+    private static SimulationResult result(SimulationJob job, Outcome outcome, Game game,
+            int commandsRun, int errors) {
+        return new SimulationResult(job, outcome, game.points(), game.numLives(),
+                game.remainingTime(), commandsRun, errors);
+    }
+}
@@ -0,0 +1,90 @@
+package tp1.control;
+
+import java.util.List;
+
+/**
+ * Una partida a simular: el nivel inicial y la lista de comandos, una línea
+ * por comando igual que los que escribiría el jugador.
+ */
+public class SimulationJob {
+
+    private final int level;
+    private final List<String> commands;
+    private final int[] cycles; // null si no es un diario (ver getCycles)
+    // Cómo acabó la partida grabada (ver InputJournal.finish), si se sabe
+    private final boolean ended;
+    private final int commandErrors;
+    private final int finalCycle;
+    private final int finalState;
+
+    public SimulationJob(int level, List<String> commands) {
+        this.level = level;
+        this.commands = List.copyOf(commands);
+        this.cycles = null;
+        this.ended = false;
+        this.commandErrors = 0;
+        this.finalCycle = 0;
+        this.finalState = 0;
+    }
+
+    /**
+     * Partida grabada en un diario (ver InputJournal): cycles[i] es el ciclo
+     * de juego en que llegó el comando i.
+     */
+    public SimulationJob(int level, List<String> commands, int[] cycles) {
+        this(level, commands, cycles, false, 0, 0, 0);
+    }
+
+    /**
+     * Partida grabada entera: además, cuántos comandos fallaron, el ciclo en
+     * que acabó y la suma de comprobación de su estado final.
+     */
+    public SimulationJob(int level, List<String> commands, int[] cycles,
+            int commandErrors, int finalCycle, int finalState) {
+        this(level, commands, cycles, true, commandErrors, finalCycle, finalState);
+    }
+
+    private SimulationJob(int level, List<String> commands, int[] cycles, boolean ended,
+            int commandErrors, int finalCycle, int finalState) {
+        if (cycles.length != commands.size()) {
+            throw new IllegalArgumentException("One cycle per command expected");
+        }
+        this.level = level;
+        this.commands = List.copyOf(commands);
+        this.cycles = cycles.clone();
+        this.ended = ended;
+        this.commandErrors = commandErrors;
+        this.finalCycle = finalCycle;
+        this.finalState = finalState;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public List<String> getCommands() {
+        return commands;
+    }
+
+    // Ciclo en que llegó cada comando al grabar la partida, null si no se sabe
+    public int[] getCycles() {
+        return cycles == null ? null : cycles.clone();
+    }
+
+    // true si se sabe cómo acabó la partida grabada
+    public boolean isEnded() {
+        return ended;
+    }
+
+    public int getCommandErrors() {
+        return commandErrors;
+    }
+
+    public int getFinalCycle() {
+        return finalCycle;
+    }
+
+    public int getFinalState() {
+        return finalState;
+    }
+}
@@ -0,0 +1,73 @@
+package tp1.control;
+
+/**
+ * Resultado de una partida simulada por SimulationEngine.
+ */
+public class SimulationResult {
+
+    public enum Outcome {
+        WIN, LOSE, EXIT,
+        // El script se acabó sin terminar la partida
+        UNFINISHED,
+        // La partida lanzó una excepción inesperada
+        CRASH,
+        // Al reproducir un diario, un comando no llegó en el ciclo grabado o
+        // la partida no acabó igual
+        DIVERGED
+    }
+
+    private final SimulationJob job;
+    private final Outcome outcome;
+    private final int points;
+    private final int lives;
+    private final int remainingTime;
+    private final int commandsRun;
+    private final int commandErrors;
+
+    public SimulationResult(SimulationJob job, Outcome outcome, int points, int lives,
+            int remainingTime, int commandsRun, int commandErrors) {
+        this.job = job;
+        this.outcome = outcome;
+        this.points = points;
+        this.lives = lives;
+        this.remainingTime = remainingTime;
+        this.commandsRun = commandsRun;
+        this.commandErrors = commandErrors;
+    }
+
+    public SimulationJob getJob() {
+        return job;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getRemainingTime() {
+        return remainingTime;
+    }
+
+    // Comandos leídos del script antes de terminar
+    public int getCommandsRun() {
+        return commandsRun;
+    }
+
+    // Comandos que fallaron al parsear o ejecutar
+    public int getCommandErrors() {
+        return commandErrors;
+    }
+
+    @Override
+    public String toString() {
+        return "%s points=%d lives=%d time=%d commands=%d errors=%d".formatted(
+                outcome, points, lives, remainingTime, commandsRun, commandErrors);
+    }
+}
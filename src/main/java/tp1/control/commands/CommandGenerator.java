@@ -1,36 +1,76 @@
 package tp1.control.commands;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import tp1.exceptions.CommandParseException;
 import tp1.view.Messages;
 /**
  * Generador de comandos del juego.
  * Parsea la entrada del usuario y devuelve el comando correspondiente.
+ *
+ * Cada comando se registra una vez con su nombre y su atajo en minúsculas,
+ * así que encontrar el comando de una línea es una sola búsqueda en un
+ * mapa; solo el comando encontrado parsea sus argumentos. Las tablas se
+ * llenan una vez al cargar la clase y no cambian.
  */
 public class CommandGenerator {
 
-    private static final List<Command> AVAILABLE_COMMANDS = Arrays.<Command>asList(
-        new AddObjectCommand(),
-        new ActionCommand(),
-        new UpdateCommand(),
-        new ResetCommand(),
-        new HelpCommand(),
-        new ExitCommand(),
-        new SaveCommand(),
-        new LoadCommand()
-    );
-
-    
+    // Prototipos en orden de registro (el de la ayuda)
+    private static final List<AbstractCommand> AVAILABLE_COMMANDS;
+    // Nombre o atajo en minúsculas -> prototipo
+    private static final Map<String, AbstractCommand> COMMANDS_BY_NAME;
+
+    static {
+        List<AbstractCommand> commands = new ArrayList<>();
+        Map<String, AbstractCommand> byName = new HashMap<>();
+        register(commands, byName, new AddObjectCommand());
+        register(commands, byName, new ActionCommand());
+        // Una línea vacía (solo Enter) también es update
+        register(commands, byName, new UpdateCommand(), "");
+        register(commands, byName, new ResetCommand());
+        register(commands, byName, new HelpCommand());
+        register(commands, byName, new ExitCommand());
+        register(commands, byName, new SaveCommand());
+        register(commands, byName, new LoadCommand());
+        register(commands, byName, new UndoCommand());
+        AVAILABLE_COMMANDS = List.copyOf(commands);
+        COMMANDS_BY_NAME = Map.copyOf(byName);
+    }
+
+    // Añade un comando con su nombre, su atajo y los alias dados (sin
+    // distinguir mayúsculas); un nombre repetido es un error de programación
+    private static void register(List<AbstractCommand> commands, Map<String, AbstractCommand> byName,
+            AbstractCommand command, String... aliases) {
+        List<String> keys = new ArrayList<>();
+        keys.add(key(command.getName()));
+        keys.add(key(command.getShortcut()));
+        for (String alias : aliases) {
+            keys.add(key(alias));
+        }
+        for (String key : keys) {
+            AbstractCommand other = byName.get(key);
+            if (other != null && other != command) {
+                throw new IllegalStateException("Duplicate command name: " + key);
+            }
+            byName.put(key, command);
+        }
+        commands.add(command);
+    }
+
     public static Command parse(String[] words) throws CommandParseException {
-        for (Command c : AVAILABLE_COMMANDS) {
+        String name = words.length == 0 ? "" : words[0];
+        AbstractCommand c = COMMANDS_BY_NAME.get(key(name));
+        if (c != null) {
             Command parsed = c.parse(words);
             if (parsed != null) {
                 return parsed;
             }
         }
         	throw new CommandParseException(
-            Messages.UNKNOWN_COMMAND.formatted(words[0])
+            Messages.UNKNOWN_COMMAND.formatted(name)
         );
     }
 
@@ -47,4 +87,8 @@ public class CommandGenerator {
         return commands.toString();
     }
 
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package tp1.control.commands;
 import tp1.exceptions.CommandExecuteException;
 import tp1.exceptions.CommandParseException;
 import tp1.exceptions.GameModelException;
+import tp1.logic.BinaryGameConfiguration;
 import tp1.logic.GameModel;
 import tp1.view.GameView;
 import tp1.view.Messages;
@@ -15,15 +16,18 @@ public class SaveCommand extends AbstractCommand {
     private static final String HELP = Messages.COMMAND_SAVE_HELP;
 
     private String fileName;
+    private boolean binary;
 
     public SaveCommand() {
         super(NAME, SHORTCUT, DETAILS, HELP);
         this.fileName = null;
+        this.binary = false;
     }
 
-    private SaveCommand(String fileName) {
+    private SaveCommand(String fileName, boolean binary) {
         super(NAME, SHORTCUT, DETAILS, HELP);
         this.fileName = fileName;
+        this.binary = binary;
     }
 
    //si no coincide con el nombre no es error, se devuelve null
@@ -33,17 +37,25 @@ public class SaveCommand extends AbstractCommand {
             return null; // no es este comando
         }
 
+        //save <fichero> o save -b <fichero>; los .bin siempre en binario
+        if (words.length == 3 && words[1].equals(Messages.COMMAND_SAVE_BINARY_FLAG)) {
+            return new SaveCommand(words[2], true);
+        }
         if (words.length != 2) {
             throw new CommandParseException(Messages.COMMAND_INCORRECT_PARAMETER_NUMBER);
         }
 
-        return new SaveCommand(words[1]);
+        return new SaveCommand(words[1], words[1].endsWith(BinaryGameConfiguration.EXTENSION));
     }
 
     @Override
     public void execute(GameModel game, GameView view) throws CommandExecuteException {
         try {
-            game.save(fileName);
+            if (binary) {
+                game.saveBinary(fileName);
+            } else {
+                game.save(fileName);
+            }
         } 
         catch (GameModelException e) {
             throw new CommandExecuteException(Messages.ERROR_COMMAND_EXECUTE, e);
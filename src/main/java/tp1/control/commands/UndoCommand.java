@@ -0,0 +1,67 @@
+package tp1.control.commands;
+
+import tp1.exceptions.CommandExecuteException;
+import tp1.exceptions.CommandParseException;
+import tp1.exceptions.GameModelException;
+import tp1.logic.GameModel;
+import tp1.view.GameView;
+import tp1.view.Messages;
+/**
+ * Comando para deshacer ciclos del juego.
+ * Vuelve al estado guardado de hace n ciclos (1 si no se indica).
+ * Uso: "undo" o "undo <n>"
+ */
+public class UndoCommand extends AbstractCommand {
+
+    private static final String NAME = Messages.COMMAND_UNDO_NAME;
+    private static final String SHORTCUT = Messages.COMMAND_UNDO_SHORTCUT;
+    private static final String DETAILS = Messages.COMMAND_UNDO_DETAILS;
+    private static final String HELP = Messages.COMMAND_UNDO_HELP;
+
+    private int steps;
+
+    public UndoCommand() {
+        super(NAME, SHORTCUT, DETAILS, HELP);
+        this.steps = 1;
+    }
+
+    private UndoCommand(int steps) {
+        super(NAME, SHORTCUT, DETAILS, HELP);
+        this.steps = steps;
+    }
+
+    @Override
+    public Command parse(String[] commandWords) throws CommandParseException {
+        if (commandWords.length < 1 || !matchCommandName(commandWords[0])) {
+            return null; // no es este comando
+        }
+        if (commandWords.length == 1) {
+            return new UndoCommand();
+        }
+        if (commandWords.length > 2) {
+            throw new CommandParseException(Messages.COMMAND_INCORRECT_PARAMETER_NUMBER);
+        }
+        try {
+            int steps = Integer.parseInt(commandWords[1]);
+            if (steps < 1) {
+                throw new CommandParseException(Messages.INVALID_COMMAND_PARAMETERS);
+            }
+            return new UndoCommand(steps);
+        } catch (NumberFormatException e) {
+            throw new CommandParseException(Messages.INVALID_COMMAND_PARAMETERS);
+        }
+    }
+
+    @Override
+    public void execute(GameModel game, GameView view) throws CommandExecuteException {
+        try {
+            if (!game.undo(steps)) {
+                throw new CommandExecuteException(Messages.NOTHING_TO_UNDO);
+            }
+        } catch (GameModelException e) {
+            throw new CommandExecuteException(Messages.ERROR_COMMAND_EXECUTE, e);
+        }
+        // Mostrar el juego en el ciclo recuperado
+        view.showGame();
+    }
+}
@@ -0,0 +1,384 @@
+package tp1.logic;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+import tp1.exceptions.GameLoadException;
+import tp1.exceptions.GameModelException;
+import tp1.exceptions.ObjectParseException;
+import tp1.logic.gameobjects.GameObject;
+import tp1.logic.gameobjects.GameObjectFactory;
+
+/**
+ * Autoguardado de la partida para recuperarla tras una caída (ver
+ * Game.setAutosave).
+ *
+ * El fichero es un diario de escritura anticipada: empieza con un punto de
+ * control (una instantánea completa, como las de undo) y sigue con una entrada
+ * por autoguardado con solo lo que ha cambiado desde el anterior. Cada
+ * checkpointEvery entradas, o si cambia la capa estática o el tablero (reset,
+ * load, un Land nuevo), se empieza un fichero nuevo con un punto de control
+ * que sustituye al anterior de golpe (SaveWriter.replace).
+ *
+ * Formato (big endian, como DataOutputStream): MAGIC(4) y entradas
+ * longitud(4) crc32(4) datos, cada una forzada a disco al escribirla.
+ *   punto de control: 'C' nivel filas columnas tiempo puntos vidas,
+ *                     nEstáticos y sus registros(8), nRegistros y por cada uno
+ *                     registro(8) estáticosAntes(4)
+ *   cambios:          'D' tiempo puntos vidas nCambios y por cada uno
+ *                     índice(4) registro(8) (mismos objetos que la anterior)
+ *   todo:             'R' tiempo puntos vidas nRegistros y por cada uno
+ *                     registro(8) estáticosAntes(4) (han aparecido o muerto objetos)
+ * Los registros son los de GameObject.packRecord. Al leer (recover) se aplican
+ * las entradas en orden hasta el final o hasta la primera incompleta o dañada.
+ *
+ * La escritura va en el hilo de SaveWriter; si va más lenta que el juego, se
+ * salta los autoguardados intermedios en lugar de acumularlos.
+ */
+final class AutosaveLog {
+
+    private static final int MAGIC = 0x4D41554C; // "MAUL"
+
+    private static final byte CHECKPOINT = 'C';
+    private static final byte CHANGES = 'D';
+    private static final byte RECORDS = 'R';
+
+    // Estado por escribir: la instantánea y el tamaño del tablero
+    private static final class Pending {
+        final GameSnapshot state;
+        final int rows;
+        final int cols;
+
+        Pending(GameSnapshot state, int rows, int cols) {
+            this.state = state;
+            this.rows = rows;
+            this.cols = cols;
+        }
+    }
+
+    // Resultado de recover
+    static final class Recovered {
+        final int rows;
+        final int cols;
+        final GameSnapshot state;
+
+        Recovered(int rows, int cols, GameSnapshot state) {
+            this.rows = rows;
+            this.cols = cols;
+            this.state = state;
+        }
+    }
+
+    private final String fileName;
+    private final Path target;
+    private final int checkpointEvery;
+    private final SaveWriter saver;
+
+    // Último estado pedido y no escrito todavía (lo deja el hilo del juego)
+    private final AtomicReference<Pending> next;
+
+    // Solo desde el hilo de escritura
+    private FileChannel channel; // null: lo siguiente es un punto de control
+    private Pending previous;     // último estado escrito
+    private int sinceCheckpoint;
+    private final ByteArrayOutputStream entry;
+    private final CRC32 crc;
+
+    AutosaveLog(String fileName, int checkpointEvery, SaveWriter saver) throws GameModelException {
+        try {
+            this.target = Paths.get(fileName).toAbsolutePath();
+        } catch (InvalidPathException e) {
+            throw new GameModelException("Unable to save game to file: " + fileName, e);
+        }
+        this.fileName = fileName;
+        this.checkpointEvery = Math.max(1, checkpointEvery);
+        this.saver = saver;
+        this.next = new AtomicReference<>();
+        this.entry = new ByteArrayOutputStream();
+        this.crc = new CRC32();
+    }
+
+    /**
+     * Encarga autoguardar el estado dado y vuelve enseguida. La instantánea no
+     * se copia: no cambia una vez hecha (ver GameSnapshot).
+     */
+    void record(GameSnapshot state, int rows, int cols) {
+        // Si ya había uno esperando, este lo sustituye y no hace falta otra tarea
+        if (next.getAndSet(new Pending(state, rows, cols)) == null) {
+            saver.submitSilent(fileName, this::writeNext);
+        }
+    }
+
+    // Deja de autoguardar (lo pedido antes se escribe igual)
+    void close() {
+        saver.submitSilent(fileName, this::closeChannel);
+    }
+
+    // ESCRITURA (hilo de SaveWriter)
+
+    private void writeNext() throws IOException {
+        Pending current = next.getAndSet(null);
+        if (current == null) {
+            return;
+        }
+        try {
+            if (needsCheckpoint(current)) {
+                checkpoint(current);
+            } else {
+                append(current);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Una entrada a medias cortaría el diario: se vuelve a empezar
+            closeChannel();
+            throw e;
+        }
+    }
+
+    private boolean needsCheckpoint(Pending current) {
+        return channel == null
+                || sinceCheckpoint >= checkpointEvery
+                || current.state.statics != previous.state.statics
+                || current.state.nLevel != previous.state.nLevel
+                || current.rows != previous.rows
+                || current.cols != previous.cols;
+    }
+
+    private void checkpoint(Pending current) throws IOException {
+        closeChannel();
+        GameSnapshot state = current.state;
+        DataOutputStream data = startEntry(CHECKPOINT);
+        data.writeInt(state.nLevel);
+        data.writeInt(current.rows);
+        data.writeInt(current.cols);
+        writeCounters(data, state);
+        data.writeInt(state.statics.length);
+        for (GameObject obj : state.statics) {
+            data.writeLong(obj.packRecord());
+        }
+        writeRecords(data, state);
+        SaveWriter.replace(target, out -> {
+            DataOutputStream file = new DataOutputStream(out);
+            file.writeInt(MAGIC);
+            writeEntry(file);
+            file.flush();
+        });
+        channel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        previous = current;
+        sinceCheckpoint = 0;
+    }
+
+    private void append(Pending current) throws IOException {
+        GameSnapshot before = previous.state;
+        GameSnapshot state = current.state;
+        DataOutputStream data;
+        if (state.records.length == before.records.length
+                && Arrays.equals(state.staticsBefore, before.staticsBefore)) {
+            data = startEntry(CHANGES);
+            writeCounters(data, state);
+            int changed = 0;
+            for (int i = 0; i < state.records.length; i++) {
+                if (state.records[i] != before.records[i]) {
+                    changed++;
+                }
+            }
+            data.writeInt(changed);
+            for (int i = 0; i < state.records.length; i++) {
+                if (state.records[i] != before.records[i]) {
+                    data.writeInt(i);
+                    data.writeLong(state.records[i]);
+                }
+            }
+        } else {
+            data = startEntry(RECORDS);
+            writeCounters(data, state);
+            writeRecords(data, state);
+        }
+        ByteArrayOutputStream framed = new ByteArrayOutputStream(entry.size() + 8);
+        writeEntry(new DataOutputStream(framed));
+        ByteBuffer buffer = ByteBuffer.wrap(framed.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        previous = current;
+        sinceCheckpoint++;
+    }
+
+    private DataOutputStream startEntry(byte kind) throws IOException {
+        entry.reset();
+        DataOutputStream data = new DataOutputStream(entry);
+        data.writeByte(kind);
+        return data;
+    }
+
+    private static void writeCounters(DataOutputStream data, GameSnapshot state) throws IOException {
+        data.writeInt(state.remainingTime);
+        data.writeInt(state.points);
+        data.writeInt(state.lives);
+    }
+
+    private static void writeRecords(DataOutputStream data, GameSnapshot state) throws IOException {
+        data.writeInt(state.records.length);
+        for (int i = 0; i < state.records.length; i++) {
+            data.writeLong(state.records[i]);
+            data.writeInt(state.staticsBefore[i]);
+        }
+    }
+
+    // longitud, crc y los datos de la entrada en curso
+    private void writeEntry(DataOutputStream out) throws IOException {
+        crc.reset();
+        crc.update(entry.toByteArray());
+        out.writeInt(entry.size());
+        out.writeInt((int) crc.getValue());
+        entry.writeTo(out);
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignore) {} //ignoramos error
+            channel = null;
+        }
+    }
+
+    // LECTURA
+
+    /**
+     * Indica si el fichero empieza con la cabecera de un autoguardado.
+     */
+    static boolean isAutosaveFile(String fileName) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(fileName))) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Estado del último autoguardado completo del fichero: el punto de control
+     * con todas las entradas que le siguen aplicadas. Una última entrada
+     * incompleta o dañada (una caída a mitad) se ignora.
+     */
+    static Recovered recover(String fileName, GameWorld game) throws GameLoadException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(fileName)))) {
+            if (in.readInt() != MAGIC) {
+                throw new GameLoadException("Unknown autosave format: " + fileName);
+            }
+            DataInputStream data = readEntry(in);
+            if (data == null || data.readByte() != CHECKPOINT) {
+                throw new GameLoadException("No checkpoint in file: " + fileName);
+            }
+            int nLevel = data.readInt();
+            int rows = data.readInt();
+            int cols = data.readInt();
+            if (!Cell.isValidBoardSize(rows, cols)) {
+                throw new GameLoadException(Cell.boardSizeError(rows, cols) + " in file: " + fileName);
+            }
+            int remainingTime = data.readInt();
+            int points = data.readInt();
+            int lives = data.readInt();
+            GameObject[] statics = new GameObject[data.readInt()];
+            for (int i = 0; i < statics.length; i++) {
+                statics[i] = GameObjectFactory.unpackRecord(data.readLong(), game);
+            }
+            long[] records = new long[data.readInt()];
+            int[] staticsBefore = new int[records.length];
+            readRecords(data, records, staticsBefore);
+
+            // Entradas posteriores, en orden
+            for (data = readEntry(in); data != null; data = readEntry(in)) {
+                byte kind = data.readByte();
+                remainingTime = data.readInt();
+                points = data.readInt();
+                lives = data.readInt();
+                if (kind == CHANGES) {
+                    int changed = data.readInt();
+                    for (int k = 0; k < changed; k++) {
+                        records[data.readInt()] = data.readLong();
+                    }
+                } else if (kind == RECORDS) {
+                    records = new long[data.readInt()];
+                    staticsBefore = new int[records.length];
+                    readRecords(data, records, staticsBefore);
+                } else {
+                    throw new GameLoadException("Unknown autosave entry in file: " + fileName);
+                }
+            }
+            return new Recovered(rows, cols, new GameSnapshot(nLevel, remainingTime, points, lives, 0,
+                    false, false, statics, records, staticsBefore, ordersOf(statics, staticsBefore)));
+        } catch (ObjectParseException | RuntimeException e) {
+            // registros o índices que no cuadran
+            throw new GameLoadException("Invalid object in file: " + fileName, e);
+        } catch (IOException e) {
+            throw new GameLoadException("Unable to read file: " + fileName, e);
+        }
+    }
+
+    // Los objetos leídos son nuevos: su orden es su puesto entre todos, y el
+    // de los estáticos se pone ya en el objeto (ver GameSnapshot)
+    private static int[] ordersOf(GameObject[] statics, int[] staticsBefore) {
+        int[] orders = new int[staticsBefore.length];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = i + staticsBefore[i];
+        }
+        int before = 0;
+        for (int s = 0; s < statics.length; s++) {
+            while (before < staticsBefore.length && staticsBefore[before] <= s) {
+                before++;
+            }
+            statics[s].setOrder(s + before);
+        }
+        return orders;
+    }
+
+    private static void readRecords(DataInputStream data, long[] records, int[] staticsBefore)
+            throws IOException {
+        for (int i = 0; i < records.length; i++) {
+            records[i] = data.readLong();
+            staticsBefore[i] = data.readInt();
+        }
+    }
+
+    // Datos de la siguiente entrada, null si no hay más o está a medias o dañada
+    private static DataInputStream readEntry(DataInputStream in) throws IOException {
+        byte[] bytes;
+        int expected;
+        try {
+            int length = in.readInt();
+            expected = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            bytes = in.readNBytes(length);
+            if (bytes.length != length) {
+                return null;
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if ((int) crc.getValue() != expected) {
+            return null;
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
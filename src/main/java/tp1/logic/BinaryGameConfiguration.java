@@ -0,0 +1,163 @@
+package tp1.logic;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import tp1.exceptions.GameLoadException;
+import tp1.exceptions.ObjectParseException;
+import tp1.logic.gameobjects.GameObject;
+import tp1.logic.gameobjects.GameObjectFactory;
+import tp1.logic.gameobjects.Mario;
+
+/**
+ * Configuración de juego guardada en formato binario.
+ *
+ * Formato (big endian, como DataOutputStream):
+ *   cabecera: MAGIC(4) VERSION(2) filas(4) columnas(4) tiempo(4) puntos(4) vidas(4) nObjetos(4)
+ *   (la versión 1 no lleva filas ni columnas: tablero Game.DIM_Y x Game.DIM_X)
+ *   nObjetos registros de tamaño fijo: tipo(1) fila(4) columna(4) estado(1)
+ * El estado de cada registro lo define cada objeto (GameObject.recordState).
+ * Se lee y se escribe en una sola pasada con buffer.
+ */
+public class BinaryGameConfiguration implements GameConfiguration {
+
+    public static final String EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x4D415231; // "MAR1"
+    private static final short VERSION = 2;
+
+    //Estado del juego
+    private int rows;
+    private int cols;
+    private int remainingTime;
+    private int points;
+    private int lives;
+
+    private Mario mario;
+    private List<GameObject> npcObjects;
+
+    public BinaryGameConfiguration(String fileName, GameWorld game) throws GameLoadException {
+        npcObjects = new ArrayList<>();
+        loadFromFile(fileName, game);
+    }
+
+    /**
+     * Indica si el fichero empieza con la cabecera del formato binario.
+     */
+    public static boolean isBinaryFile(String fileName) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(fileName))) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Escribe el estado y los objetos dados en formato binario en out,
+     * que debería llevar buffer (no lo cierra).
+     */
+    public static void write(OutputStream out, int rows, int cols, int remainingTime, int points, int lives,
+            List<GameObject> objects) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeInt(rows);
+        data.writeInt(cols);
+        data.writeInt(remainingTime);
+        data.writeInt(points);
+        data.writeInt(lives);
+        data.writeInt(objects.size());
+        for (GameObject obj : objects) {
+            obj.writeRecord(data);
+        }
+        data.flush();
+    }
+
+    private void loadFromFile(String fileName, GameWorld game) throws GameLoadException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(fileName)))) {
+
+            if (in.readInt() != MAGIC) {
+                throw new GameLoadException("Unknown binary format: " + fileName);
+            }
+            short version = in.readShort();
+            if (version == 1) {
+                rows = Game.DIM_Y;
+                cols = Game.DIM_X;
+            } else if (version == VERSION) {
+                rows = in.readInt();
+                cols = in.readInt();
+                if (!Cell.isValidBoardSize(rows, cols)) {
+                    throw new GameLoadException(Cell.boardSizeError(rows, cols) + " in file: " + fileName);
+                }
+            } else {
+                throw new GameLoadException("Unknown binary format: " + fileName);
+            }
+            remainingTime = in.readInt();
+            points = in.readInt();
+            lives = in.readInt();
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                GameObject obj = GameObjectFactory.readRecord(in, game);
+                if (obj.getClass() == Mario.class) {
+                    mario = (Mario) obj;
+                } else {
+                    npcObjects.add(obj);
+                }
+            }
+
+            if (mario == null) {
+                throw new GameLoadException("No Mario in file: " + fileName);
+            }
+        } catch (EOFException e) {
+            throw new GameLoadException("Truncated file: " + fileName, e);
+        } catch (ObjectParseException e) {
+            throw new GameLoadException("Invalid object in file: " + fileName, e);
+        } catch (IOException e) {
+            throw new GameLoadException("Unable to read file: " + fileName, e);
+        }
+    }
+
+    @Override
+    public int getRows() {
+        return this.rows;
+    }
+
+    @Override
+    public int getCols() {
+        return this.cols;
+    }
+
+    @Override
+    public int getRemainingTime() {
+        return this.remainingTime;
+    }
+
+    @Override
+    public int getPoints() {
+        return this.points;
+    }
+
+    @Override
+    public int getNumLives() {
+        return this.lives;
+    }
+
+    @Override
+    public Mario getMario() {
+        return this.mario;
+    }
+
+    @Override
+    public List<GameObject> getNPCObjects() {
+        return npcObjects;
+    }
+}
@@ -0,0 +1,81 @@
+package tp1.logic;
+
+/**
+ * Coordenadas de casilla empaquetadas en un int: fila en los 16 bits altos y
+ * columna en los 16 bajos (ambas con signo, para poder salir del tablero).
+ * Por eso un tablero tiene como mucho MAX_COORD filas y columnas.
+ *
+ * Es la versión primitiva de {@link Position} para los bucles de física y del
+ * contenedor: no crea objetos ni depende de su identidad. La API pública del
+ * juego sigue usando Position.
+ */
+public final class Cell {
+
+    public static final int MAX_COORD = Short.MAX_VALUE;
+
+    private Cell() {
+    }
+
+    // Un tablero cabe si tiene al menos una casilla y no pasa de MAX_COORD
+    public static boolean isValidBoardSize(int rows, int cols) {
+        return rows > 0 && cols > 0 && rows <= MAX_COORD && cols <= MAX_COORD;
+    }
+
+    // Para los mensajes de error: el tamaño que llegó y el que se admite
+    static String boardSizeError(int rows, int cols) {
+        return "Invalid board size " + rows + " x " + cols
+                + " (rows and columns must be between 1 and " + MAX_COORD + ")";
+    }
+
+    public static int of(int row, int col) {
+        return (row << 16) | (col & 0xFFFF);
+    }
+
+    public static int of(Position pos) {
+        return of(pos.getRow(), pos.getCol());
+    }
+
+    public static int row(int cell) {
+        return cell >> 16;
+    }
+
+    public static int col(int cell) {
+        return (short) cell;
+    }
+
+    public static Position toPosition(int cell) {
+        return Position.of(row(cell), col(cell));
+    }
+
+    public static int right(int cell) {
+        return of(row(cell), col(cell) + 1);
+    }
+
+    public static int left(int cell) {
+        return of(row(cell), col(cell) - 1);
+    }
+
+    public static int up(int cell) {
+        return of(row(cell) - 1, col(cell));
+    }
+
+    public static int down(int cell) {
+        return of(row(cell) + 1, col(cell));
+    }
+
+    // Igual que Position.move(Action): null o STOP no mueven
+    public static int move(int cell, Action action) {
+        if (action == null) {
+            return cell;
+        }
+        return of(row(cell) + action.getY(), col(cell) + action.getX());
+    }
+
+    // Dentro de un tablero de rows x cols
+    public static boolean isInside(int cell, int rows, int cols) {
+        int row = row(cell);
+        int col = col(cell);
+        return col >= 0 && col < cols
+                && row >= 0 && row < rows;
+    }
+}
@@ -1,9 +1,11 @@
 package tp1.logic;
 import java.util.ArrayList;
 import java.util.List;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import tp1.exceptions.ObjectParseException;
 import tp1.logic.gameobjects.GameObjectFactory;
 import tp1.exceptions.GameLoadException;
@@ -11,128 +13,207 @@ import tp1.logic.gameobjects.GameObject;
 import tp1.logic.gameobjects.Mario;
 
 //clase encargada de representar la configuracion de juego cargada de un archivo
+//Se lee línea a línea con un BufferedReader: con streamInto los objetos van
+//directamente al contenedor de destino, sin guardarlos antes en una lista
 public class FileGameConfiguration implements GameConfiguration {
 
+    // Crea el contenedor de destino con el tamaño de tablero leído (ver streamInto)
+    interface BoardFactory {
+        GameObjectContainer create(int rows, int cols);
+    }
+
     //Estado del juego
+    private int rows;
+    private int cols;
     private int remainingTime;
     private int points;
     private int lives;
 
     private Mario mario; //para guardar la referencia al mario cargado del archivo
-    private List<GameObject> npcObjects; //El resto de objetos 
+    private List<GameObject> npcObjects; //El resto de objetos (vacía con streamInto)
+    private GameObjectContainer container; //Destino de los objetos con streamInto
+
 
-   
     public FileGameConfiguration(String fileName, GameWorld game) throws GameLoadException {
 		npcObjects = new ArrayList<>(); //lista donde vamos a ir metiendo los objetos (excepto mario) que leamos del archivo
-	    loadFromFile(fileName, game); //método que lee el fichero y rellena los atributos
-        	
+	    loadFromFile(fileName, game, null); //método que lee el fichero y rellena los atributos
+
     }
 
-    private void loadFromFile(String fileName, GameWorld game) throws GameLoadException {
-        Scanner sc = null;
+    private FileGameConfiguration() {
+        npcObjects = new ArrayList<>();
+    }
 
-        try {
-        	
-            //abrimos archivo
-            sc = new Scanner(new File(fileName));
-            
+    /**
+     * Lee el fichero añadiendo cada objeto, según se lee, al contenedor que
+     * crea newBoard para el tamaño de la cabecera; Mario se añade el primero al
+     * terminar, como en Game.load. Si hay un error el contenedor se descarta.
+     */
+    static FileGameConfiguration streamInto(String fileName, GameWorld game, BoardFactory newBoard)
+            throws GameLoadException {
+        FileGameConfiguration cfg = new FileGameConfiguration();
+        cfg.loadFromFile(fileName, game, newBoard);
+        return cfg;
+    }
+
+    private void loadFromFile(String fileName, GameWorld game, BoardFactory newBoard) throws GameLoadException {
+        //abrimos archivo (se cierra solo al salir del try)
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8)) {
+            int lineNumber = 1;
+            String statusLine = in.readLine(); //leemos una linea completa del archivo
             //si no hay una linea->archivo vacio lanzamos una exception de tipo gameload
-            if (!sc.hasNextLine()) {
+            if (statusLine == null) {
                 throw new GameLoadException("Empty configuration file: " + fileName);
             }
-
-            String statusLine = sc.nextLine(); //leemos una linea completa del archivo
             String[] parts = statusLine.split(" "); //parte las lineas en trozos con " "
 
-            //si no tenemos 3 elementos ->lanzamos excepcion
-            if (parts.length != 3) {
-                throw new GameLoadException(""); 
+            //cabecera opcional con el tamaño del tablero: board <filas> <columnas>
+            rows = Game.DIM_Y;
+            cols = Game.DIM_X;
+            if (parts[0].equals(Game.BOARD_HEADER)) {
+                readBoardSize(parts, fileName);
+                statusLine = in.readLine();
+                lineNumber++;
+                if (statusLine == null) {
+                    throw new GameLoadException("Empty configuration file: " + fileName);
+                }
+                parts = statusLine.split(" ");
             }
+            readStatus(parts, lineNumber, fileName);
 
-            try {
-            	//de los trozitos ponemos a qué corresponde cada uno
-                remainingTime = Integer.parseInt(parts[0]);
-                points        = Integer.parseInt(parts[1]);
-                lives         = Integer.parseInt(parts[2]);
-            } 
-            catch (NumberFormatException e) {
-                throw new GameLoadException("");
+            if (newBoard != null) {
+                container = newBoard.create(rows, cols);
             }
 
             //Leemos el resto de objetos
-            while (sc.hasNextLine()) {
-            	
-            		//leemos la siguiente linea
-                String line = sc.nextLine();
-                //Separamos la linea en palabras
-                String[] objWords = line.split(" ");
-                //creamos el objeto 
-                GameObject obj = GameObjectFactory.parse(objWords, game);
-                
-                if (obj.getClass() == Mario.class) { //preguntar si esta bn? se puede hacer asi?
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                lineNumber++;
+                GameObject obj = parseObject(line, lineNumber, fileName, game);
+                if (obj.getClass() == Mario.class) {
                     mario = (Mario) obj;
-                } 
-                else {
+                } else if (container != null) {
+                    container.add(obj);
+                } else {
                     npcObjects.add(obj);
                 }
             }
 
             //comprobamos hemos encontrado a Mario
             if (mario == null) {
-                throw new GameLoadException("");
+                throw new GameLoadException("No Mario in file: " + fileName);
+            }
+            if (container != null) {
+                container.addFirst(mario);
             }
+        } catch (IOException e) {
+            //si archivo no existe o no se puede leer->lanzamos excepcion
+            throw new GameLoadException("Unable to read file: " + fileName, e);
+        }
+    }
 
-        } 
-        
-        catch (FileNotFoundException e) {
-        	//si archivo no existe->lanzamos excepcin
-            throw new GameLoadException("");
+    private void readStatus(String[] parts, int lineNumber, String fileName) throws GameLoadException {
+        //si no tenemos 3 elementos ->lanzamos excepcion
+        if (parts.length != 3) {
+            throw new GameLoadException(atLine("Invalid game status", lineNumber, fileName));
+        }
+        try {
+            //de los trozitos ponemos a qué corresponde cada uno
+            remainingTime = Integer.parseInt(parts[0]);
+            points        = Integer.parseInt(parts[1]);
+            lives         = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            throw new GameLoadException(atLine("Invalid game status", lineNumber, fileName), e);
+        }
+    }
 
-        } 
-        
-        catch (ObjectParseException e) {
-            // //error al parsear->lanzamos excepcion
-            throw new GameLoadException("");
+    private static GameObject parseObject(String line, int lineNumber, String fileName, GameWorld game)
+            throws GameLoadException {
+        try {
+            //Separamos la linea en palabras y creamos el objeto
+            return GameObjectFactory.parse(line.split(" "), game);
+        } catch (ObjectParseException | RuntimeException e) {
+            //error al parsear->lanzamos excepcion
+            throw new GameLoadException(atLine("Invalid object", lineNumber, fileName), e);
+        }
+    }
 
+    private static String atLine(String problem, int lineNumber, String fileName) {
+        return problem + " at line " + lineNumber + " of file: " + fileName;
+    }
+
+    private void readBoardSize(String[] parts, String fileName) throws GameLoadException {
+        try {
+            rows = Integer.parseInt(parts[1]);
+            cols = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new GameLoadException("Invalid board size in file: " + fileName, e);
         }
-        
-        catch (Exception e) {
-            // Cualquier otro error 
-            throw new GameLoadException("");
+        if (parts.length != 3) {
+            throw new GameLoadException("Invalid board size in file: " + fileName);
+        }
+        if (!Cell.isValidBoardSize(rows, cols)) {
+            throw new GameLoadException(Cell.boardSizeError(rows, cols) + " in file: " + fileName);
+        }
+    }
 
+    /**
+     * Escribe el estado y los objetos dados en formato de texto, el mismo que
+     * se lee: cabecera del tablero si no es el de siempre, tiempo, puntos y
+     * vidas, y una línea por objeto.
+     */
+    public static void write(Appendable out, int rows, int cols, int remainingTime, int points, int lives,
+            List<GameObject> objects) throws IOException {
+        //Si el tablero no es el de siempre, antes va su tamaño
+        if (rows != Game.DIM_Y || cols != Game.DIM_X) {
+            out.append(Game.BOARD_HEADER).append(' ').append(Integer.toString(rows))
+                    .append(' ').append(Integer.toString(cols)).append('\n');
         }
-        
-        finally {
-            // Cerrar scanner
-            if (sc != null) {
-                sc.close();
-            }
+        out.append(Integer.toString(remainingTime)).append(' ').append(Integer.toString(points))
+                .append(' ').append(Integer.toString(lives)).append('\n');
+
+        //Ponemos una linea por cada objeto
+        for (GameObject obj : objects) {
+            out.append(obj.serialize()).append('\n');
         }
     }
 
+    // Contenedor con los objetos leídos por streamInto (null con el constructor)
+    GameObjectContainer getContainer() {
+        return this.container;
+    }
+
+    @Override
+    public int getRows() {
+    	return this.rows;
+    }
+
+    @Override
+    public int getCols() {
+    	return this.cols;
+    }
 
     @Override
     public int getRemainingTime() {
-    	return this.remainingTime; 
+    	return this.remainingTime;
     }
 
     @Override
-    public int getPoints() { 
-    	return this.points; 
+    public int getPoints() {
+    	return this.points;
     }
 
     @Override
     public int getNumLives() {
-    	return this.lives; 
+    	return this.lives;
     }
 
     @Override
     public Mario getMario() {
-    	return this.mario; 
+    	return this.mario;
     }
 
     @Override
-    public List<GameObject> getNPCObjects() { 
-    	return npcObjects; 
+    public List<GameObject> getNPCObjects() {
+    	return npcObjects;
     }
 }
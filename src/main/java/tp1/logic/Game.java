@@ -3,6 +3,7 @@ package tp1.logic;
 import tp1.exceptions.GameLoadException;
 import tp1.exceptions.OffBoardException;
 import tp1.exceptions.GameModelException;
+import tp1.exceptions.ObjectParseException;
 import tp1.logic.gameobjects.Box;
 import tp1.logic.gameobjects.ExitDoor;
 import tp1.logic.gameobjects.GameItem;
@@ -12,25 +13,55 @@ import tp1.logic.gameobjects.Land;
 import tp1.logic.gameobjects.Mario;
 import tp1.logic.gameobjects.Mushroom;
 import tp1.view.Messages;
-import java.io.FileWriter;
 import java.io.IOException;
-
-public class Game implements GameModel, GameStatus, GameWorld{
-
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+public final class Game implements GameModel, GameStatus, GameWorld{
+
+    //Tamaño del tablero de los niveles predefinidos (y de la vista)
     public static final int DIM_X = 30;
     public static final int DIM_Y = 15;
+    //Cabecera opcional de los ficheros de texto con tablero de otro tamaño
+    public static final String BOARD_HEADER = "board";
+    // Autoguardado por defecto (ver setAutosave): cada cuántos ciclos y cada
+    // cuántos autoguardados va un estado completo
+    public static final int AUTOSAVE_TICKS = 5;
+    public static final int AUTOSAVE_CHECKPOINT_EVERY = 20;
 
     private int nLevel;
+    //Tamaño del tablero actual: DIM_Y x DIM_X salvo que se cargue otro
+    private int rows;
+    private int cols;
     private int remainingTime;
     private int points;
     private int lives;
+    private int cycle; //ciclos (updates) desde que empezó la sesión
+    //Instantáneas de los últimos ciclos para undo (null si no se guardan,
+    //ver setUndoHistory)
+    private static final int HISTORY_SIZE = 64;
+    private SnapshotHistory history;
+    //Goomba y Mushroom en un MoverStore en vez de como objetos (ver setMoverStore)
+    private boolean moverStore;
     private boolean playerWon;
     private boolean playerLost;
     private boolean playerExit;
 
     private GameObjectContainer gameObjects;
     private Mario mario;
-    private GameConfiguration fileLoader; 
+    private SaveWriter saver; // guardados en segundo plano
+    private AutosaveLog autosave; // null si no hay autoguardado
+    private int autosaveEvery;
+    private Path sandbox; // null si los ficheros son los que se piden
+    // Subdirectorio del sandbox que nunca se crea (ver writeFileOf)
+    private static final String MISSING_DIR = "missing";
     
     // Atributos del juego
     public Game(int nLevel) {
@@ -41,13 +72,16 @@ public class Game implements GameModel, GameStatus, GameWorld{
         this.playerWon = false;
         this.playerLost = false;
         this.playerExit = false;
+        this.saver = new SaveWriter();
 
         initLevel(nLevel);
+        restartHistory();
     }
 
     // METODOS DE GAME MODEL
     @Override
     public void update() {
+        cycle++;
         //1 Reducir el tiempo
         if (remainingTime <= 0) {
             playerLost = true;
@@ -56,6 +90,22 @@ public class Game implements GameModel, GameStatus, GameWorld{
         }
         //2. Actualizar todos los objetos del juego
         gameObjects.update();
+        //3. Guardar el estado del ciclo, si hay historial o toca autoguardado
+        boolean autosaveDue = autosave != null && cycle % autosaveEvery == 0;
+        if (history != null || autosaveDue) {
+            GameSnapshot state = currentState();
+            if (history != null) {
+                history.push(state);
+            }
+            if (autosaveDue) {
+                autosave.record(state, rows, cols); // ver setAutosave
+            }
+        }
+    }
+
+    @Override
+    public int cycle() {
+        return cycle;
     }
 
     @Override
@@ -77,6 +127,8 @@ public class Game implements GameModel, GameStatus, GameWorld{
         playerWon = true;
     }
 
+    @Override
+    public void reset(int level) {
         this.nLevel = level;
 
         initLevel(this.nLevel);
@@ -86,8 +138,106 @@ public class Game implements GameModel, GameStatus, GameWorld{
             this.lives = 3;
             this.points = 0;
         }
+        restartHistory();
+    }
 
-        
+    @Override
+    public boolean undo(int steps) throws GameModelException {
+        GameSnapshot snapshot = history == null ? null : history.rewind(steps);
+        if (snapshot == null) {
+            return false;
+        }
+        this.nLevel = snapshot.nLevel;
+        this.remainingTime = snapshot.remainingTime;
+        this.points = snapshot.points;
+        this.lives = snapshot.lives;
+        this.cycle = snapshot.cycle;
+        this.playerWon = snapshot.playerWon;
+        this.playerLost = snapshot.playerLost;
+        this.mario = null;
+        this.gameObjects = GameObjectContainer.restore(snapshot, this, moverStore ? this : null);
+        return true;
+    }
+
+    /**
+     * Guarda una instantánea por ciclo (las últimas HISTORY_SIZE) para poder
+     * hacer undo. Cuesta recorrer los objetos en cada update, así que solo la
+     * activan quienes ejecutan undo (Controller, guiones con undo); sin ella
+     * undo devuelve false. Empieza desde el estado actual.
+     */
+    public void setUndoHistory(boolean enabled) {
+        this.history = enabled ? new SnapshotHistory(HISTORY_SIZE) : null;
+        restartHistory();
+    }
+
+    /**
+     * Guarda los Goomba y Mushroom en arrays (MoverStore) con actualización en
+     * bloque, para niveles de prueba con muchísimos enemigos. Se aplica a los
+     * tableros creados a partir de ahora (reset, load, undo).
+     */
+    public void setMoverStore(boolean enabled) {
+        this.moverStore = enabled;
+    }
+
+    /**
+     * Autoguarda la partida en fileName cada everyTicks ciclos, para poder
+     * recuperarla con load tras una caída (ver AutosaveLog): cada
+     * checkpointEvery autoguardados se escribe el estado completo y entre medias
+     * solo lo que cambia. Con fileName null o everyTicks <= 0 se desactiva.
+     */
+    public void setAutosave(String fileName, int everyTicks, int checkpointEvery) throws GameModelException {
+        if (autosave != null) {
+            autosave.close();
+            autosave = null;
+        }
+        if (fileName != null && everyTicks > 0) {
+            autosave = new AutosaveLog(fileName, checkpointEvery, saver);
+            autosaveEvery = everyTicks;
+        }
+    }
+
+    /**
+     * Hace que save escriba dentro de dir en vez de en los ficheros pedidos,
+     * para reproducir una partida sin tocar los ficheros reales (ver
+     * SimulationEngine.runOne). load lee lo guardado así en la partida y, si
+     * no se ha guardado, el fichero real, como al grabarla. null lo desactiva.
+     */
+    public void setFileSandbox(Path dir) {
+        this.sandbox = dir;
+    }
+
+    // Fichero en que se escribe fileName: con sandbox, uno dentro de él cuyo
+    // nombre es la ruta pedida codificada (sin '/' ni '.', no se sale de dir).
+    // Si la ruta pedida no es válida o su directorio no existe, la escritura
+    // tiene que fallar igual que falló al grabar la partida
+    private String writeFileOf(String fileName) throws GameModelException {
+        if (sandbox == null) {
+            return fileName;
+        }
+        Path dir;
+        try {
+            dir = Paths.get(fileName).toAbsolutePath().getParent();
+        } catch (InvalidPathException e) {
+            throw new GameModelException("Unable to save game to file: " + fileName, e);
+        }
+        Path file = sandboxFile(fileName);
+        if (dir != null && !Files.isDirectory(dir)) {
+            file = sandbox.resolve(MISSING_DIR).resolve(file.getFileName());
+        }
+        return file.toString();
+    }
+
+    // Fichero del que se lee fileName: lo guardado en el sandbox o el real
+    private String readFileOf(String fileName) {
+        if (sandbox == null) {
+            return fileName;
+        }
+        Path file = sandboxFile(fileName);
+        return Files.exists(file) ? file.toString() : fileName;
+    }
+
+    private Path sandboxFile(String fileName) {
+        return sandbox.resolve(URLEncoder.encode(fileName, StandardCharsets.UTF_8).replace(".", "%2E"));
     }
 
     @Override
@@ -125,9 +275,14 @@ public class Game implements GameModel, GameStatus, GameWorld{
 
     @Override
     public String positionToString(int col, int row) {
-        Position position = new Position(row, col);
+        Position position = Position.of(row, col);
         return gameObjects.positionToString(position);
     }
+
+    @Override
+    public void fillFrame(int firstRow, int firstCol, int nRows, int nCols, String[] cells) {
+        gameObjects.fillFrame(firstRow, firstCol, nRows, nCols, cells);
+    }
     
     public boolean playerWins() {
         return playerWon;
@@ -137,22 +292,32 @@ public class Game implements GameModel, GameStatus, GameWorld{
         return playerLost;
     }
 
+    @Override
+    public Position marioPosition() {
+        return mario == null ? null : mario.getPosition();
+    }
+
     // METODOS DE GAME WORLD
     @Override
     public int getRows() {
-        return DIM_Y;
+        return rows;
     }
 
     @Override
     public int getCols() {
-        return DIM_X;
+        return cols;
     }
 
     @Override
     public boolean isInside(Position pos) {
         if(pos == null) return false;
-        return pos.getCol() >= 0 && pos.getCol() < DIM_X
-            && pos.getRow() >= 0 && pos.getRow() < DIM_Y;
+        return pos.getCol() >= 0 && pos.getCol() < cols
+            && pos.getRow() >= 0 && pos.getRow() < rows;
+    }
+
+    @Override
+    public boolean isInside(int cell) {
+        return Cell.isInside(cell, rows, cols);
     }
 
     @Override
@@ -160,6 +325,16 @@ public class Game implements GameModel, GameStatus, GameWorld{
        return gameObjects.isSolid(pos);
     }
 
+    @Override
+    public boolean isSolid(int cell) {
+        return gameObjects.isSolid(cell);
+    }
+
+    @Override
+    public int landingCell(int cell) {
+        return gameObjects.landingCell(cell);
+    }
+
     @Override
     public void addObject(GameObject obj) throws OffBoardException{
         //si la pos no esta dentro del tablero lanza la excepcion offboardexception
@@ -180,6 +355,16 @@ public class Game implements GameModel, GameStatus, GameWorld{
         return gameObjects.getObjectAt(pos);
     }
 
+    @Override
+    public GameObject getObjectAt(int cell) {
+        return gameObjects.getObjectAt(cell);
+    }
+
+    @Override
+    public void objectMoved(GameObject obj, Position oldPos) {
+        gameObjects.moved(obj, oldPos);
+    }
+
     @Override
     public void addScore(int pointsToAdd){
         this.points += pointsToAdd;
@@ -212,8 +397,35 @@ public class Game implements GameModel, GameStatus, GameWorld{
         gameObjects.doInteraction(item);
     }
 
+    @Override
+    public boolean hasDynamicNear(int cell) {
+        return gameObjects.hasDynamicNear(cell);
+    }
+
     // Metodos adicionales    
 
+    //El constructor también pasa por aquí, pero entonces moverStore aún es
+    //false (solo lo cambia setMoverStore): el tablero no recibe la partida
+    //hasta que está construida del todo
+    private void newBoard(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.gameObjects = moverStore ? new GameObjectContainer(rows, cols, this)
+                : new GameObjectContainer(rows, cols);
+    }
+
+    private GameSnapshot currentState() {
+        return gameObjects.snapshot(nLevel, remainingTime, points, lives, cycle, playerWon, playerLost);
+    }
+
+    // Tras reset o load no se puede volver a la partida anterior
+    private void restartHistory() {
+        if (history != null) {
+            history.clear();
+            history.push(currentState());
+        }
+    }
+
     private void initLevel(int nLevel) {
         switch (nLevel) {
             case -1:
@@ -238,7 +450,7 @@ public class Game implements GameModel, GameStatus, GameWorld{
         this.nLevel = -1;
         this.remainingTime = 100;
         //Mapa vacío para modo creativo
-        gameObjects = new GameObjectContainer();
+        newBoard(DIM_Y, DIM_X);
         this.mario = null;
     }
 
@@ -246,30 +458,30 @@ public class Game implements GameModel, GameStatus, GameWorld{
         this.nLevel = 0;
         this.remainingTime = 100;
         //Se crea el contenedor de objetos
-        gameObjects = new GameObjectContainer();
+        newBoard(DIM_Y, DIM_X);
 
         //1. Añadir primero a Mario para que sea el primero en actualizarse
-        this.mario = new Mario(this, new Position(Game.DIM_Y - 3, 0));
+        this.mario = new Mario(this, Position.of(Game.DIM_Y - 3, 0));
         gameObjects.add(this.mario);
 
         // 2. Añadrir el terreno
         for (int col = 0; col < 15; col++) {
-            gameObjects.add(new Land(this, new Position(13, col)));
-            gameObjects.add(new Land(this, new Position(14, col)));
+            gameObjects.add(new Land(this, Position.of(13, col)));
+            gameObjects.add(new Land(this, Position.of(14, col)));
         }
 
-        gameObjects.add(new Land(this, new Position(Game.DIM_Y - 3, 9)));
-        gameObjects.add(new Land(this, new Position(Game.DIM_Y - 3, 12)));
+        gameObjects.add(new Land(this, Position.of(Game.DIM_Y - 3, 9)));
+        gameObjects.add(new Land(this, Position.of(Game.DIM_Y - 3, 12)));
         for (int col = 17; col < Game.DIM_X; col++) {
-            gameObjects.add(new Land(this, new Position(Game.DIM_Y - 2, col)));
-            gameObjects.add(new Land(this, new Position(Game.DIM_Y - 1, col)));
+            gameObjects.add(new Land(this, Position.of(Game.DIM_Y - 2, col)));
+            gameObjects.add(new Land(this, Position.of(Game.DIM_Y - 1, col)));
         }
 
-        gameObjects.add(new Land(this, new Position(9, 2)));
-        gameObjects.add(new Land(this, new Position(9, 5)));
-        gameObjects.add(new Land(this, new Position(9, 6)));
-        gameObjects.add(new Land(this, new Position(9, 7)));
-        gameObjects.add(new Land(this, new Position(5, 6)));
+        gameObjects.add(new Land(this, Position.of(9, 2)));
+        gameObjects.add(new Land(this, Position.of(9, 5)));
+        gameObjects.add(new Land(this, Position.of(9, 6)));
+        gameObjects.add(new Land(this, Position.of(9, 7)));
+        gameObjects.add(new Land(this, Position.of(5, 6)));
 
         // Salto final
         int tamX = 8, tamY = 8;
@@ -277,26 +489,26 @@ public class Game implements GameModel, GameStatus, GameWorld{
 
         for (int col = 0; col < tamX; col++) {
             for (int fila = 0; fila < col + 1; fila++) {
-                gameObjects.add(new Land(this, new Position(posIniY - fila, posIniX + col)));
+                gameObjects.add(new Land(this, Position.of(posIniY - fila, posIniX + col)));
             }
         }
         // 3. Añadir la puerta de salida
-        gameObjects.add(new ExitDoor(this, new Position(Game.DIM_Y - 3, Game.DIM_X - 1)));
+        gameObjects.add(new ExitDoor(this, Position.of(Game.DIM_Y - 3, Game.DIM_X - 1)));
 
         // 3. Añador enemigos al final
-        gameObjects.add(new Goomba(this, new Position(0, 19)));
+        gameObjects.add(new Goomba(this, Position.of(0, 19)));
     }
 
     private void initLevel1() {
         initLevel0();
         this.nLevel = 1;
 
-        gameObjects.add(new Goomba(this, new Position(4, 6)));
-        gameObjects.add(new Goomba(this, new Position(12, 6)));
-        gameObjects.add(new Goomba(this, new Position(12, 8)));
-        gameObjects.add(new Goomba(this, new Position(10, 10)));
-        gameObjects.add(new Goomba(this, new Position(12, 11)));
-        gameObjects.add(new Goomba(this, new Position(12, 14)));
+        gameObjects.add(new Goomba(this, Position.of(4, 6)));
+        gameObjects.add(new Goomba(this, Position.of(12, 6)));
+        gameObjects.add(new Goomba(this, Position.of(12, 8)));
+        gameObjects.add(new Goomba(this, Position.of(10, 10)));
+        gameObjects.add(new Goomba(this, Position.of(12, 11)));
+        gameObjects.add(new Goomba(this, Position.of(12, 14)));
     }
     
     private void initLevel2() {
@@ -304,71 +516,105 @@ public class Game implements GameModel, GameStatus, GameWorld{
         initLevel1();
         
         //Añadir Box en (9,4) - fila 4, columna 9
-        gameObjects.add(new Box(this, new Position(9, 4)));
+        gameObjects.add(new Box(this, Position.of(9, 4)));
         
         // Añadir Mushrooms en (12,8) y (2,20)
-        gameObjects.add(new Mushroom(this, new Position(12, 8)));
-        gameObjects.add(new Mushroom(this, new Position(2, 20)));
+        gameObjects.add(new Mushroom(this, Position.of(12, 8)));
+        gameObjects.add(new Mushroom(this, Position.of(2, 20)));
     }
     
     
-    //Metodo para crear archivo de texto con toda la info:
+    //Metodo para crear archivo de texto con toda la info (ver FileGameConfiguration.write):
     @Override
     public String toString() {
-        //En la primera linea ponemos tiempo, puntos y vidas
-        String result = remainingTime + " " + points + " " + lives + "\n";
-
-        //Ponemos una linea por cada objeto
-        for (GameObject obj : gameObjects.getObjects()) {
-            result = result + obj.serialize() + "\n";
+        StringBuilder result = new StringBuilder();
+        try {
+            FileGameConfiguration.write(result, rows, cols, remainingTime, points, lives, gameObjects.getObjects());
+        } catch (IOException e) {
+            // StringBuilder no lanza IOException
+            throw new IllegalStateException(e);
         }
-
-       
-        return result;
+        return result.toString();
     }
 
     
+    //Se copia el estado (una instantánea, como para undo) y se sacan de ella
+    //los objetos aquí mismo; el hilo de escritura solo les da formato y
+    //escribe el fichero. El resultado llega por pollSave
     @Override
     public void save(String fileName) throws GameModelException {
-        FileWriter fw = null;
+        fileName = writeFileOf(fileName);
+        GameSnapshot state = currentState();
+        List<GameObject> objects = savedObjects(fileName, state);
+        int rows = this.rows;
+        int cols = this.cols;
+        saver.submit(fileName, out -> {
+            Writer text = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            FileGameConfiguration.write(text, rows, cols, state.remainingTime, state.points, state.lives,
+                    objects);
+            text.flush();
+        });
+    }
+    
+    
+    //Igual que save pero en formato binario (ver BinaryGameConfiguration)
+    @Override
+    public void saveBinary(String fileName) throws GameModelException {
+        fileName = writeFileOf(fileName);
+        GameSnapshot state = currentState();
+        List<GameObject> objects = savedObjects(fileName, state);
+        int rows = this.rows;
+        int cols = this.cols;
+        saver.submit(fileName, out -> BinaryGameConfiguration.write(out, rows, cols,
+                state.remainingTime, state.points, state.lives, objects));
+    }
 
+    // Objetos nuevos, que nadie más toca: el hilo de escritura puede leerlos
+    private List<GameObject> savedObjects(String fileName, GameSnapshot state) throws GameModelException {
         try {
-            //Abrimos el fichero
-            fw = new FileWriter(fileName);
-
-            //Escribimos la info del juego
-            fw.write(this.toString());
-
-        } catch (IOException e) {
-            //Cualquier problema de escritura lo convertimos en GameModelException
+            return GameObjectContainer.objectsOf(state, this);
+        } catch (ObjectParseException e) {
+            // No debería ocurrir, los registros salen de objetos válidos
             throw new GameModelException("Unable to save game to file: " + fileName, e);
-
-        } finally {
-            //Cerrar el fichero si estaba abierto
-            if (fw != null) {
-                try {
-                    fw.close();
-                } catch (IOException ignore) {} //ignoramos error
-            }
         }
     }
+
+    @Override
+    public SaveResult pollSave() {
+        return saver.poll();
+    }
+
+    @Override
+    public void awaitSaves() {
+        saver.awaitAll();
+    }
     
     
     @Override
     public void load(String fileName) throws GameLoadException {
-    		GameConfiguration cfg = new FileGameConfiguration(fileName, this);
-
-        //ponemos todo los estados iniciales a false
-    		this.playerWon = false;
-    		this.playerLost = false;
-    		this.playerExit = false;
-
-        //le damos los valores del fichero
-    		this.remainingTime = cfg.getRemainingTime();
-    		this.points        = cfg.getPoints();
-    		this.lives         = cfg.getNumLives();
-    		
-    		this.gameObjects = new GameObjectContainer();
+        //si se está guardando el mismo fichero, hay que leer lo guardado
+    		awaitSaves();
+    		fileName = readFileOf(fileName);
+    		if (AutosaveLog.isAutosaveFile(fileName)) {
+    			recover(fileName);
+    			return;
+    		}
+        //el formato se reconoce por la cabecera del fichero; los de texto se
+        //leen directamente en un tablero nuevo (el actual sigue si falla)
+    		if (!BinaryGameConfiguration.isBinaryFile(fileName)) {
+    			FileGameConfiguration cfg = FileGameConfiguration.streamInto(fileName, this,
+    					(r, c) -> new GameObjectContainer(r, c, moverStore ? this : null));
+    			startLoaded(cfg);
+    			this.rows = cfg.getRows();
+    			this.cols = cfg.getCols();
+    			this.gameObjects = cfg.getContainer();
+    			this.mario = cfg.getMario();
+    			restartHistory();
+    			return;
+    		}
+    		GameConfiguration cfg = new BinaryGameConfiguration(fileName, this);
+    		startLoaded(cfg);
+    		newBoard(cfg.getRows(), cfg.getCols());
 
         //añadimos a mario (guardamos referencia de filegame)
     		this.mario = cfg.getMario();
@@ -380,7 +626,45 @@ public class Game implements GameModel, GameStatus, GameWorld{
     		for (GameObject obj : cfg.getNPCObjects()) {
     			this.gameObjects.add(obj);
         }
-    		this.fileLoader = cfg;
+    		restartHistory();
+    }
+
+    //Como undo, pero con el estado del último autoguardado del fichero
+    private void recover(String fileName) throws GameLoadException {
+    		AutosaveLog.Recovered saved = AutosaveLog.recover(fileName, this);
+    		GameSnapshot state = saved.state;
+    		Mario current = this.mario;
+    		GameObjectContainer board;
+    		this.mario = null;
+    		try {
+    			board = GameObjectContainer.restore(state, saved.rows, saved.cols, this, moverStore ? this : null);
+    		} catch (ObjectParseException e) {
+    			this.mario = current; // el tablero actual sigue
+    			throw new GameLoadException("Invalid object in file: " + fileName, e);
+    		}
+    		this.playerWon = false;
+    		this.playerLost = false;
+    		this.playerExit = false;
+    		this.nLevel = state.nLevel;
+    		this.remainingTime = state.remainingTime;
+    		this.points = state.points;
+    		this.lives = state.lives;
+    		this.rows = saved.rows;
+    		this.cols = saved.cols;
+    		this.gameObjects = board;
+    		restartHistory();
+    }
+
+    private void startLoaded(GameConfiguration cfg) {
+        //ponemos todo los estados iniciales a false
+    		this.playerWon = false;
+    		this.playerLost = false;
+    		this.playerExit = false;
+
+        //le damos los valores del fichero
+    		this.remainingTime = cfg.getRemainingTime();
+    		this.points        = cfg.getPoints();
+    		this.lives         = cfg.getNumLives();
     }
  
 
@@ -9,6 +9,9 @@ public interface GameConfiguration {
 	int getRemainingTime();
 	int getPoints();
 	int getNumLives();
+	//Tamaño del tablero
+	int getRows();
+	int getCols();
 
     // Objetos del juego
 	Mario getMario();                   
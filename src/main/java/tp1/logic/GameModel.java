@@ -9,13 +9,25 @@ public interface GameModel extends GameWorld{
     boolean isFinished();
     /*Para actualizar las estadisticas del juego */
     void update();
+    /*Numero de updates hechos en la sesion, no se reinicia con reset o load */
+    int cycle();
     void reset();
     //Reseteo con nivel especifico
     void reset(int level);
     void exit();
     /*Añadir una accion para Mario */
     void addAction(Action action);
+    /*save y saveBinary copian el estado y vuelven enseguida: el fichero se
+     *escribe en segundo plano y el resultado se recoge con pollSave */
     void save(String fileName) throws GameModelException;
+    void saveBinary(String fileName) throws GameModelException;
+    /*Siguiente guardado terminado, null si no hay ninguno */
+    SaveResult pollSave();
+    /*Espera a que terminen los guardados pendientes */
+    void awaitSaves();
     void load(String fileName) throws GameLoadException;
+    /*Vuelve al estado de hace steps ciclos (como mucho los que haya guardados).
+     *Devuelve false si no hay ningun ciclo anterior */
+    boolean undo(int steps) throws GameModelException;
 
 }
\ No newline at end of file
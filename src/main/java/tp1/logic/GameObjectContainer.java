@@ -1,142 +1,742 @@
 package tp1.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
+import tp1.exceptions.ObjectParseException;
 import tp1.logic.gameobjects.GameItem;
 import tp1.logic.gameobjects.GameObject;
+import tp1.logic.gameobjects.GameObjectFactory;
 import tp1.view.Messages;
 
 public class GameObjectContainer {
 
     private List<GameObject> objects;
 
-    public GameObjectContainer() {
+    // Índice espacial: una lista de objetos por casilla.
+    // Los objetos se indexan por su posición; los que ocupan dos casillas
+    // (Mario grande) ocupan también la de encima, así que las consultas miran
+    // la casilla pedida y la de debajo.
+    // El tablero se guarda por trozos de CHUNK_SIZE x CHUNK_SIZE casillas y solo
+    // se crean los trozos en los que se ha anclado algún objeto: un nivel largo
+    // y casi vacío no reserva memoria casilla a casilla para el espacio vacío.
+    private static final int CHUNK_BITS = 4;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final int rows;
+    private final int cols;
+    private final int chunkCols;
+    private final Chunk[] chunks;
+    // Objetos fuera del tablero (p.ej. cayendo por un agujero), suelen ser 0 o 1
+    private List<GameObject> offBoard;
+    // Objetos estáticos (Land, ExitDoor) en orden; se comparte entre instantáneas
+    // y solo se rehace después de añadir o quitar un objeto estático
+    private GameObject[] staticLayer;
+    // Siguiente número de orden (ver GameObject.getOrder)
+    private int nextOrder;
+    // Número de orden del último añadido con addFirst
+    private int firstOrder;
+
+    // Durante update la lista se recorre sin copiarla: los objetos añadidos o
+    // quitados en ese tiempo se indexan (o desindexan) enseguida, pero no entran
+    // (ni salen) de la lista hasta el final del ciclo
+    private boolean updating;
+    private List<GameObject> pendingAdds;
+    private List<GameObject> pendingRemovals;
+    // Candidatos de doInteraction, se reutiliza entre llamadas
+    // (no hay llamadas anidadas: una interacción no provoca otras)
+    private GameObject[] candidates;
+    // Goombas y Mushrooms en arrays (ver MoverStore), null si no se usa
+    private final MoverStore movers;
+    // Por columna, la fila en la que acaba lo que cae desde cada fila (ver
+    // landingCell); null hasta la primera consulta y al cambiar un sólido
+    private final int[][] landingRows;
+    // Objetos de la ventana en fillFrame, se reutiliza entre frames
+    private final List<GameObject> frameObjects;
+
+    // Un trozo del tablero: las listas de sus casillas y un bit por casilla que
+    // indica si hay algún objeto sólido (Land, Box) anclado en ella. El bit solo
+    // cambia al añadir, quitar o mover un objeto sólido.
+    private static final class Chunk {
+        final List<GameObject>[] cells = newCells(CHUNK_SIZE * CHUNK_SIZE);
+        final BitSet solid = new BitSet(CHUNK_SIZE * CHUNK_SIZE);
+
+        // Java no deja crear un array de List<GameObject> directamente
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static List<GameObject>[] newCells(int size) {
+            return new List[size];
+        }
+    }
+
+    public GameObjectContainer(int rows, int cols) {
+        this(rows, cols, null);
+    }
+
+    /**
+     * Con moverWorld, los objetos que lo permiten (GameObject.isStoreMover) se
+     * guardan en un MoverStore que los mueve en ese mundo. Se pintan, se
+     * guardan e interactúan igual, pero no los devuelven getObjectAt ni
+     * removeObjectAt.
+     */
+    public GameObjectContainer(int rows, int cols, GameWorld moverWorld) {
+        if (!Cell.isValidBoardSize(rows, cols)) {
+            throw new IllegalArgumentException(Cell.boardSizeError(rows, cols));
+        }
+        this.movers = moverWorld == null ? null : new MoverStore(moverWorld);
         this.objects = new ArrayList<>();
+        this.rows = rows;
+        this.cols = cols;
+        // Todos los tableros pasan por aquí (nivel, load, undo, recover)
+        Position.reserve(rows, cols);
+        this.chunkCols = (cols + CHUNK_MASK) >> CHUNK_BITS;
+        this.chunks = new Chunk[((rows + CHUNK_MASK) >> CHUNK_BITS) * chunkCols];
+        this.offBoard = new ArrayList<>();
+        this.pendingAdds = new ArrayList<>();
+        this.pendingRemovals = new ArrayList<>();
+        this.candidates = new GameObject[8];
+        this.landingRows = new int[cols][];
+        this.frameObjects = new ArrayList<>();
     }
 
     // Métodos para añadir objetos al contenedor
     // Si se añade antes se actualiza antes
     public void add(GameObject obj) {
-        objects.add(obj);
+        obj.setOrder(nextOrder++);
+        insert(obj);
+    }
+
+    // Como add, pero el objeto conserva su orden (ver restore); tienen que
+    // llegar en orden creciente
+    private void addInOrder(GameObject obj) {
+        nextOrder = Math.max(nextOrder, obj.getOrder() + 1);
+        firstOrder = Math.min(firstOrder, obj.getOrder());
+        insert(obj);
     }
 
-    // Borrar objeto en la posicion
+    private void insert(GameObject obj) {
+        if (movers != null && obj.isStoreMover()) {
+            movers.add(obj);
+            return;
+        }
+        if (updating) {
+            pendingAdds.add(obj);
+        } else {
+            objects.add(obj);
+        }
+        index(obj, obj.getPosition());
+        if (obj.isSolid()) {
+            markSolid(obj.getPosition());
+        }
+        if (obj.isStatic()) {
+            staticLayer = null;
+        }
+    }
+
+    // Como add, pero el objeto queda delante de todos los anteriores (se
+    // actualiza y se pinta el primero). No se puede usar durante update
+    void addFirst(GameObject obj) {
+        obj.setOrder(--firstOrder);
+        objects.add(0, obj);
+        index(obj, obj.getPosition());
+        if (obj.isSolid()) {
+            markSolid(obj.getPosition());
+        }
+        if (obj.isStatic()) {
+            staticLayer = null;
+        }
+    }
+
+    // Borrar todos los objetos en la posicion (como el removeIf de antes)
     public boolean removeObjectAt(Position pos) {
-        return objects.removeIf(obj -> obj.isInPosition(pos));
+        boolean removed = false;
+        GameObject obj;
+        while ((obj = getObjectAt(pos)) != null) {
+            if (updating) {
+                // Muere ya, para que no se actualice ni interactúe en lo que
+                // queda de ciclo; solo se aplaza sacarlo de la lista
+                obj.dead();
+                pendingRemovals.add(obj);
+            } else {
+                objects.remove(obj);
+            }
+            removed = true;
+            // Ya no está en el índice: el siguiente getObjectAt no lo ve
+            if (!unindex(obj, obj.getPosition())) {
+                break;
+            }
+            if (obj.isSolid()) {
+                refreshSolid(obj.getPosition());
+            }
+            if (obj.isStatic()) {
+                staticLayer = null;
+            }
+        }
+        return removed;
     }
-    //Obtenes objeto en la posicion dada
+
+    //Obtenes objeto en la posicion dada (el primero en orden de inserción)
     public GameObject getObjectAt(Position pos) {
-        for (GameObject obj : objects) {
-            if (obj.isInPosition(pos)) {
-                return obj;
+        GameObject found = findIn(bucket(pos), pos, false);
+        if (pos != null) {
+            found = first(found, findIn(bucket(pos.down()), pos, false));
+        }
+        return first(found, findIn(offBoard, pos, false));
+    }
+
+    public GameObject getObjectAt(int cell) {
+        return getObjectAt(Cell.toPosition(cell));
+    }
+
+    /**
+     * Mantiene el índice al día cuando un objeto cambia de posición.
+     * Si el objeto no pertenece a este contenedor no hace nada.
+     */
+    public void moved(GameObject obj, Position oldPos) {
+        if (unindex(obj, oldPos)) {
+            index(obj, obj.getPosition());
+            if (obj.isSolid()) {
+                refreshSolid(oldPos);
+                markSolid(obj.getPosition());
             }
         }
-        return null;
     }
+
     // Actualizar todos los objetos vivos en orden de inserción
     public void update() {
-        //Actualizar
-        for (GameObject obj : new ArrayList<>(objects)) {
+        //Actualizar (los añadidos durante el ciclo no se actualizan hasta el siguiente)
+        int moverCount = movers == null ? 0 : movers.size();
+        updating = true;
+        try {
+            for (int i = 0; i < objects.size(); i++) {
+                GameObject obj = objects.get(i);
+                if (obj.isAlive()) {
+                    obj.update();
+                }
+            }
+            //Los del MoverStore, en bloque y después del resto
+            if (movers != null) {
+                movers.update(moverCount);
+            }
+        } finally {
+            updating = false;
+        }
+        //Aplicar los cambios pendientes
+        objects.addAll(pendingAdds);
+        pendingAdds.clear();
+        for (GameObject obj : pendingRemovals) {
+            objects.remove(obj);
+        }
+        pendingRemovals.clear();
+        //Limpiar objetos muertos que puedan ser removidos, compactando en el sitio
+        int kept = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject obj = objects.get(i);
             if (obj.isAlive()) {
-                obj.update();
+                objects.set(kept++, obj);
+            } else {
+                unindex(obj, obj.getPosition());
+                if (obj.isSolid()) {
+                    refreshSolid(obj.getPosition());
+                }
+                if (obj.isStatic()) {
+                    staticLayer = null;
+                }
             }
         }
-        //Limpiar objetos muertos que puedan ser removidos
-        objects.removeIf(obj -> !obj.isAlive());
+        objects.subList(kept, objects.size()).clear();
+        if (movers != null) {
+            movers.removeDead();
+        }
     }
 
-    public void doInteraction(GameItem item){
+    public void doInteraction(GameItem item) {
+        int n = item instanceof GameObject itemObj
+                ? gatherNearby(itemObj)
+                : gatherAll();
         // Solo procesar si ambos están vivos y no son el mismo objeto
-        for(GameObject obj : new ArrayList<>(objects)){
-        if(obj.isAlive() && item.isAlive() && obj != item){
-            // Primera llamada
-            boolean interacted1 = item.interactWith(obj);
+        for (int i = 0; i < n; i++) {
+            GameObject obj = candidates[i];
+            if (obj.isAlive() && item.isAlive() && obj != item) {
+                // Primera llamada
+                boolean interacted1 = item.interactWith(obj);
 
-            // Si hubo interacción exitosa, salir del bucle
-            if(interacted1){
-                break;
-            }
-            if(obj.isAlive() && item.isAlive()){
-                boolean interacted2 = obj.interactWith(item);
-                
                 // Si hubo interacción exitosa, salir del bucle
-                if(interacted2){
+                if (interacted1) {
                     break;
                 }
+                if (obj.isAlive() && item.isAlive()) {
+                    boolean interacted2 = obj.interactWith(item);
+
+                    // Si hubo interacción exitosa, salir del bucle
+                    if (interacted2) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (movers != null) {
+            for (int i = 0; i < n; i++) {
+                if (candidates[i].isStoreMover()) {
+                    movers.sync(candidates[i]);
+                }
             }
         }
-        doInteractionsFrom(mario);
-        // 3. Eliminar Goombas muertos
-        cleanupDeadGoombas();
+        Arrays.fill(candidates, 0, n, null);
     }
-}
 
-    public boolean isSolid(Position position) {
-        for (GameObject obj : objects) {
-            if (obj.isAlive() && obj.isSolid() && obj.isInPosition(position)) {
-                return true;
+    /**
+     * Copia en candidates los objetos que pueden interactuar con un objeto
+     * anclado en pos, en orden de inserción (el mismo en que los recorría la
+     * versión que miraba todos), y devuelve cuántos son.
+     * Los objetos ocupan como mucho dos casillas (Mario grande) y la única
+     * interacción a distancia es la de Box con quien la golpea desde debajo,
+     * así que basta con la columna de pos desde dos filas arriba hasta una abajo.
+     * Si hay MoverStore se añaden las vistas de sus movers (salvo para otro
+     * mover: esos interactúan solo con objetos normales, ver MoverStore).
+     */
+    private int gatherNearby(GameObject item) {
+        Position pos = item.getPosition();
+        int n = 0;
+        if (pos != null) {
+            int col = pos.getCol();
+            for (int row = pos.getRow() - 2; row <= pos.getRow() + 1; row++) {
+                n = gather(bucket(row, col), n);
+            }
+            if (movers != null && !item.isStoreMover()) {
+                n = gatherMovers(Cell.of(pos), n);
             }
         }
-        return false;
+        n = gather(offBoard, n);
+        // Ordenación por inserción: casi siempre hay muy pocos
+        for (int i = 1; i < n; i++) {
+            GameObject obj = candidates[i];
+            int j = i - 1;
+            while (j >= 0 && candidates[j].getOrder() > obj.getOrder()) {
+                candidates[j + 1] = candidates[j];
+                j--;
+            }
+            candidates[j + 1] = obj;
+        }
+        return n;
     }
 
-    public void checkMarioInExit() {
-        if (mario != null && exitDoor != null && mario.isInPosition(exitDoor.getPosition())) {
-            //Mario ha llegado a la puerta de salida
-            mario.interactWith(exitDoor);
+    /**
+     * Si hay algún objeto no estático en la ventana de gatherNearby de un
+     * objeto anclado en cell (los estáticos no interactúan con nadie).
+     */
+    boolean hasDynamicNear(int cell) {
+        int col = Cell.col(cell);
+        for (int row = Cell.row(cell) - 2; row <= Cell.row(cell) + 1; row++) {
+            if (hasDynamic(bucket(row, col))) {
+                return true;
+            }
         }
+        return hasDynamic(offBoard);
     }
-    private void cleanupDeadGoombas() {
-        goombas.removeIf(goomba -> !goomba.estaVivo());
+
+    private static boolean hasDynamic(List<GameObject> list) {
+        if (list != null) {
+            for (int i = 0; i < list.size(); i++) {
+                if (!list.get(i).isStatic()) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
-    public void doInteractionsFrom(Mario mario) {
-    if (mario == null) {
-        return;
+    private int gatherAll() {
+        return gather(objects, 0);
     }
-    
-    for (Goomba goomba : goombas) {
-        if (mario.interactWith(goomba)) {
-            break;
+
+    private int gatherMovers(int cell, int n) {
+        int found = movers.near(cell);
+        if (n + found > candidates.length) {
+            candidates = Arrays.copyOf(candidates, Math.max(n + found, 2 * candidates.length));
         }
-        
-    }
+        for (int k = 0; k < found; k++) {
+            candidates[n++] = movers.view(movers.hit(k));
+        }
+        return n;
     }
 
+    private int gather(List<GameObject> list, int n) {
+        if (list == null) {
+            return n;
+        }
+        if (n + list.size() > candidates.length) {
+            candidates = Arrays.copyOf(candidates, Math.max(n + list.size(), 2 * candidates.length));
+        }
+        for (int i = 0; i < list.size(); i++) {
+            candidates[n++] = list.get(i);
+        }
+        return n;
+    }
 
-    public String positionToString(Position position) {
-        StringBuilder sb = new StringBuilder();
-        //Comprueba si la posicion es la de Mario
-        if (mario != null && mario.isInPosition(position)) {
-            sb.append(mario.getIcon());
+    // Dentro del tablero basta con mirar el bit de la casilla
+    public boolean isSolid(Position position) {
+        if (position != null && isInside(position.getRow(), position.getCol())) {
+            return isSolidAt(position.getRow(), position.getCol());
         }
-        //Comprueba si la posicion es la de la puerta de salida
-        if (exitDoor != null && exitDoor.isInPosition(position)) {
-            sb.append(exitDoor.getIcon());
+        return findIn(offBoard, position, true) != null;
+    }
+
+    public boolean isSolid(int cell) {
+        if (Cell.isInside(cell, rows, cols)) {
+            return isSolidAt(Cell.row(cell), Cell.col(cell));
         }
-        //Comprueba si la posicion es la de algun Goomba
-        for (Goomba goomba : goombas) {
-            if (goomba.isInPosition(position)) {
-                sb.append(goomba.getIcon());
+        return findIn(offBoard, Cell.toPosition(cell), true) != null;
+    }
+
+    /**
+     * Casilla en la que queda un objeto que cae en línea recta desde cell
+     * (dentro del tablero): la que está justo encima del primer sólido por
+     * debajo, o la de la última fila si no hay ninguno. Si cell es sólida,
+     * la propia cell.
+     */
+    public int landingCell(int cell) {
+        int col = Cell.col(cell);
+        int[] landing = landingRows[col];
+        if (landing == null) {
+            landing = new int[rows];
+            int next = rows - 1;
+            for (int row = rows - 1; row >= 0; row--) {
+                if (isSolidAt(row, col)) {
+                    landing[row] = row;
+                    next = row - 1;
+                } else {
+                    landing[row] = next;
+                }
             }
+            landingRows[col] = landing;
         }
+        return Cell.of(landing[Cell.row(cell)], col);
+    }
 
-        //Comprueba si la posicion es la de alguna tierra
-        for (Land land : lands) {
-            if (land.isInPosition(position)) {
-                sb.append(land.getIcon());
+    public String positionToString(Position position) {
+        List<GameObject> found = new ArrayList<>(2);
+        collect(found, bucket(position), position);
+        if (position != null) {
+            collect(found, bucket(position.down()), position);
+            if (movers != null) {
+                movers.viewsAt(Cell.of(position), found);
             }
         }
+        // Los iconos van en orden de inserción, no en el de llegada a la casilla
+        found.sort(Comparator.comparingInt(GameObject::getOrder));
+        StringBuilder sb = new StringBuilder();
+        for (GameObject obj : found) {
+            sb.append(obj.getIcon());
+        }
 
         if (sb.length() == 0) {
          return Messages.EMPTY; //Si no hay nada en esa posicion, devuelve un espacio en blanco
-        } 
+        }
         // Devolver todos los iconos concatenados
         return sb.toString();
     }
-    //Acceso seguro a la lista
+
+    //Acceso de solo lectura a la lista, sin copiarla
+    // (con MoverStore es una lista nueva con las vistas de los movers en su sitio)
     public List<GameObject> getObjects() {
-        return new ArrayList<>(objects);
+        if (movers == null || movers.size() == 0) {
+            return Collections.unmodifiableList(objects);
+        }
+        List<GameObject> all = new ArrayList<>(objects.size() + movers.size());
+        int m = 0;
+        for (GameObject obj : objects) {
+            for (; m < movers.size() && movers.order(m) < obj.getOrder(); m++) {
+                all.add(movers.view(m));
+            }
+            all.add(obj);
+        }
+        for (; m < movers.size(); m++) {
+            all.add(movers.view(m));
+        }
+        return all;
+    }
+
+    // INSTANTÁNEAS
+
+    // Los objetos estáticos en orden; devuelve el mismo array mientras no cambien
+    public GameObject[] staticObjects() {
+        if (staticLayer == null) {
+            List<GameObject> statics = new ArrayList<>();
+            for (GameObject obj : objects) {
+                if (obj.isStatic()) {
+                    statics.add(obj);
+                }
+            }
+            staticLayer = statics.toArray(new GameObject[0]);
+        }
+        return staticLayer;
+    }
+
+    /**
+     * Instantánea de los objetos: los estáticos son el array compartido de
+     * staticObjects y del resto se guarda el registro empaquetado
+     * (GameObject.packRecord), en orden, con cuántos estáticos le preceden
+     * para que restore reconstruya el mismo orden de actualización.
+     */
+    GameSnapshot snapshot(int nLevel, int remainingTime, int points, int lives, int cycle,
+            boolean playerWon, boolean playerLost) {
+        int moverCount = movers == null ? 0 : movers.size();
+        long[] records = new long[objects.size() + moverCount];
+        int[] staticsBefore = new int[records.length];
+        int[] orders = new int[records.length];
+        int n = 0;
+        int statics = 0;
+        int m = 0;
+        for (GameObject obj : objects) {
+            for (; m < moverCount && movers.order(m) < obj.getOrder(); m++) {
+                staticsBefore[n] = statics;
+                orders[n] = movers.order(m);
+                records[n++] = movers.record(m);
+            }
+            if (obj.isStatic()) {
+                statics++;
+            } else {
+                staticsBefore[n] = statics;
+                orders[n] = obj.getOrder();
+                records[n++] = obj.packRecord();
+            }
+        }
+        for (; m < moverCount; m++) {
+            staticsBefore[n] = statics;
+            orders[n] = movers.order(m);
+            records[n++] = movers.record(m);
+        }
+        return new GameSnapshot(nLevel, remainingTime, points, lives, cycle, playerWon, playerLost,
+                staticObjects(), Arrays.copyOf(records, n), Arrays.copyOf(staticsBefore, n),
+                Arrays.copyOf(orders, n));
+    }
+
+    /**
+     * Contenedor con el estado de una instantánea: los objetos estáticos se
+     * reutilizan tal cual, sin cambiar su orden (otras instantáneas los
+     * comparten), y los demás se crean de nuevo desde sus registros con el
+     * orden guardado. moverWorld como en el constructor.
+     */
+    static GameObjectContainer restore(GameSnapshot snapshot, GameWorld game, GameWorld moverWorld)
+            throws ObjectParseException {
+        return restore(snapshot, game.getRows(), game.getCols(), game, moverWorld);
+    }
+
+    // Igual, en un tablero de otro tamaño (ver Game.load)
+    static GameObjectContainer restore(GameSnapshot snapshot, int rows, int cols, GameWorld game,
+            GameWorld moverWorld) throws ObjectParseException {
+        GameObjectContainer container = new GameObjectContainer(rows, cols, moverWorld);
+        for (GameObject obj : objectsOf(snapshot, game)) {
+            if (!obj.isStatic()) {
+                obj.onAdded(game); // Mario vuelve a registrarse como principal
+            }
+            container.addInOrder(obj);
+        }
+        container.staticLayer = snapshot.statics;
+        return container;
+    }
+
+    /**
+     * Los objetos de una instantánea en su orden, sin añadirlos a ningún
+     * contenedor ni registrarlos en game: los estáticos son los de la
+     * instantánea y los demás se crean desde sus registros. No toca el estado
+     * de la partida, así que se puede usar desde otro hilo (ver Game.save).
+     */
+    static List<GameObject> objectsOf(GameSnapshot snapshot, GameWorld game) throws ObjectParseException {
+        GameObject[] statics = snapshot.statics;
+        List<GameObject> all = new ArrayList<>(statics.length + snapshot.records.length);
+        int s = 0;
+        for (int i = 0; i < snapshot.records.length; i++) {
+            while (s < snapshot.staticsBefore[i]) {
+                all.add(statics[s++]);
+            }
+            GameObject obj = GameObjectFactory.unpackRecord(snapshot.records[i], game);
+            obj.setOrder(snapshot.orders[i]);
+            all.add(obj);
+        }
+        while (s < statics.length) {
+            all.add(statics[s++]);
+        }
+        return all;
+    }
+
+    // Metodos del indice espacial
+
+    private boolean isInside(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    private boolean isInside(Position pos) {
+        return pos != null && isInside(pos.getRow(), pos.getCol());
+    }
+
+    // Trozo que contiene la casilla (de dentro del tablero), null si no existe
+    private Chunk chunk(int row, int col) {
+        return chunks[(row >> CHUNK_BITS) * chunkCols + (col >> CHUNK_BITS)];
+    }
+
+    private Chunk createChunk(int row, int col) {
+        int i = (row >> CHUNK_BITS) * chunkCols + (col >> CHUNK_BITS);
+        if (chunks[i] == null) {
+            chunks[i] = new Chunk();
+        }
+        return chunks[i];
+    }
+
+    // Casilla dentro de su trozo
+    private static int slot(int row, int col) {
+        return ((row & CHUNK_MASK) << CHUNK_BITS) | (col & CHUNK_MASK);
+    }
+
+    // Lista de objetos anclados en la casilla, null si no hay ninguno
+    private List<GameObject> bucket(int row, int col) {
+        if (!isInside(row, col)) {
+            return null;
+        }
+        Chunk chunk = chunk(row, col);
+        return chunk == null ? null : chunk.cells[slot(row, col)];
+    }
+
+    private List<GameObject> bucket(Position pos) {
+        return pos == null ? null : bucket(pos.getRow(), pos.getCol());
+    }
+
+    private boolean isSolidAt(int row, int col) {
+        Chunk chunk = chunk(row, col);
+        return chunk != null && chunk.solid.get(slot(row, col));
+    }
+
+    private void index(GameObject obj, Position pos) {
+        if (!isInside(pos)) {
+            offBoard.add(obj);
+            return;
+        }
+        List<GameObject>[] cells = createChunk(pos.getRow(), pos.getCol()).cells;
+        int i = slot(pos.getRow(), pos.getCol());
+        if (cells[i] == null) {
+            cells[i] = new ArrayList<>(2);
+        }
+        cells[i].add(obj);
+    }
+
+    private boolean unindex(GameObject obj, Position pos) {
+        List<GameObject> list = isInside(pos) ? bucket(pos) : offBoard;
+        // Se compara por identidad: dos objetos pueden estar en la misma casilla
+        if (list != null) {
+            for (int k = 0; k < list.size(); k++) {
+                if (list.get(k) == obj) {
+                    list.remove(k);
+                    return true;
+                }
+            }
+        }
+        return false;
     }
-}
\ No newline at end of file
+
+    private void markSolid(Position pos) {
+        if (isInside(pos)) {
+            createChunk(pos.getRow(), pos.getCol()).solid.set(slot(pos.getRow(), pos.getCol()));
+            landingRows[pos.getCol()] = null;
+        }
+    }
+
+    // Recalcula el bit de una casilla tras quitar o mover un sólido,
+    // por si queda otro sólido en ella
+    private void refreshSolid(Position pos) {
+        if (isInside(pos)) {
+            Chunk chunk = createChunk(pos.getRow(), pos.getCol());
+            int i = slot(pos.getRow(), pos.getCol());
+            chunk.solid.set(i, findIn(chunk.cells[i], pos, true) != null);
+            landingRows[pos.getCol()] = null;
+        }
+    }
+
+    // El primero en orden de inserción que está en pos
+    private static GameObject findIn(List<GameObject> list, Position pos, boolean solidOnly) {
+        if (list == null) {
+            return null;
+        }
+        GameObject found = null;
+        for (GameObject obj : list) {
+            if (obj.isInPosition(pos) && (!solidOnly || (obj.isAlive() && obj.isSolid()))) {
+                found = first(found, obj);
+            }
+        }
+        return found;
+    }
+
+    private static GameObject first(GameObject a, GameObject b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.getOrder() <= b.getOrder() ? a : b;
+    }
+
+    /**
+     * Rellena cells (por filas, nRows x nCols) con lo que daría positionToString
+     * para cada casilla de la ventana que empieza en (firstRow, firstCol), con
+     * una sola pasada por los objetos anclados en ella: cada uno pone su icono
+     * en las casillas que ocupa, en orden de inserción.
+     */
+    public void fillFrame(int firstRow, int firstCol, int nRows, int nCols, String[] cells) {
+        Arrays.fill(cells, 0, nRows * nCols, null);
+        List<GameObject> found = frameObjects;
+        int startRow = Math.max(firstRow, 0);
+        int startCol = Math.max(firstCol, 0);
+        // Una fila más: lo anclado justo debajo puede ocupar la última (Mario grande)
+        int endRow = Math.min(firstRow + nRows, rows - 1);
+        int endCol = Math.min(firstCol + nCols, cols) - 1;
+        for (int row = startRow; row <= endRow; row++) {
+            for (int col = startCol; col <= endCol; col++) {
+                List<GameObject> list = bucket(row, col);
+                if (list != null) {
+                    found.addAll(list);
+                }
+            }
+        }
+        if (movers != null) {
+            movers.viewsIn(startRow, endRow, startCol, endCol, found);
+        }
+        found.sort(Comparator.comparingInt(GameObject::getOrder));
+        for (GameObject obj : found) {
+            Position pos = obj.getPosition();
+            putIcon(cells, obj, pos, firstRow, firstCol, nRows, nCols);
+            putIcon(cells, obj, pos.up(), firstRow, firstCol, nRows, nCols);
+        }
+        found.clear();
+        for (int i = 0; i < nRows * nCols; i++) {
+            if (cells[i] == null || cells[i].isEmpty()) {
+                cells[i] = Messages.EMPTY;
+            }
+        }
+    }
+
+    private static void putIcon(String[] cells, GameObject obj, Position pos,
+            int firstRow, int firstCol, int nRows, int nCols) {
+        int row = pos.getRow() - firstRow;
+        int col = pos.getCol() - firstCol;
+        if (row >= 0 && row < nRows && col >= 0 && col < nCols && obj.isInPosition(pos)) {
+            int i = row * nCols + col;
+            cells[i] = cells[i] == null ? obj.getIcon() : cells[i] + obj.getIcon();
+        }
+    }
+
+    private static void collect(List<GameObject> found, List<GameObject> list, Position pos) {
+        if (list == null) {
+            return;
+        }
+        for (GameObject obj : list) {
+            if (obj.isInPosition(pos)) {
+                found.add(obj);
+            }
+        }
+    }
+}
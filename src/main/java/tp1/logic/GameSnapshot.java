@@ -0,0 +1,44 @@
+package tp1.logic;
+
+import tp1.logic.gameobjects.GameObject;
+
+/**
+ * Estado de la partida al final de un ciclo: contadores y registros de los
+ * objetos (ver GameObjectContainer.snapshot).
+ *
+ * La capa estática (Land, ExitDoor) es el mismo array en todas las instantáneas
+ * mientras no cambie, así que cada ciclo solo cuesta un long y un par de int
+ * por objeto móvil. Los estáticos conservan su orden de actualización, que no
+ * cambia al restaurar; el de los demás va en orders.
+ */
+final class GameSnapshot {
+
+    final int nLevel;
+    final int remainingTime;
+    final int points;
+    final int lives;
+    final int cycle;
+    final boolean playerWon;
+    final boolean playerLost;
+
+    final GameObject[] statics;
+    final long[] records;
+    final int[] staticsBefore; // por registro, cuántos estáticos van antes
+    final int[] orders; // por registro, su orden de actualización
+
+    GameSnapshot(int nLevel, int remainingTime, int points, int lives, int cycle,
+            boolean playerWon, boolean playerLost,
+            GameObject[] statics, long[] records, int[] staticsBefore, int[] orders) {
+        this.nLevel = nLevel;
+        this.remainingTime = remainingTime;
+        this.points = points;
+        this.lives = lives;
+        this.cycle = cycle;
+        this.playerWon = playerWon;
+        this.playerLost = playerLost;
+        this.statics = statics;
+        this.records = records;
+        this.staticsBefore = staticsBefore;
+        this.orders = orders;
+    }
+}
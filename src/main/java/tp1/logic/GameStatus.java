@@ -7,9 +7,15 @@ package tp1.logic;
 public interface GameStatus {
 
 	public String positionToString(int col, int row);
+	//Lo mismo para toda una ventana de una vez: cells[(fila - firstRow) * nCols + (col - firstCol)]
+	void fillFrame(int firstRow, int firstCol, int nRows, int nCols, String[] cells);
 	int remainingTime();
     int points(); 
     int numLives();
     boolean playerWins();
     boolean playerLoses();
+    //Tamaño del tablero y posición de Mario (null si no hay), para la cámara de la vista
+    int getRows();
+    int getCols();
+    Position marioPosition();
 }
\ No newline at end of file
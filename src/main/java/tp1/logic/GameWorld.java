@@ -12,14 +12,23 @@ public interface GameWorld{
     int getRows();
     int getCols();
     boolean isInside(Position pos);
+    boolean isInside(int cell);
 
     //Gestion de los objetos del juego
     void addObject(GameObject object) throws OffBoardException;
     boolean removeObjectAt(Position pos);
     GameObject getObjectAt(Position pos);
+    GameObject getObjectAt(int cell);
+    //Aviso de que un objeto ha cambiado de casilla
+    void objectMoved(GameObject object, Position oldPos);
 
     //Consulta sobre el estado del mundo
     boolean isSolid(Position pos);
+    //Versión con coordenadas empaquetadas (ver Cell), para los bucles de física
+    boolean isSolid(int cell);
+    //Casilla en la que acaba lo que cae en línea recta desde cell (dentro del
+    //tablero), sin recorrer la columna
+    int landingCell(int cell);
 
     //Establece el Mario jugable
     void registerAsMain(GameObject mario);
@@ -31,4 +40,7 @@ public interface GameWorld{
 
     //Gestión de interacciones
     void doInteractionsFrom(GameItem item);
+    //Si hay algún objeto no estático (fuera de MoverStore) con el que podría
+    //interactuar uno anclado en cell; si no, doInteractionsFrom no haría nada
+    boolean hasDynamicNear(int cell);
 }
\ No newline at end of file
@@ -0,0 +1,289 @@
+package tp1.logic;
+
+import java.util.Arrays;
+import java.util.List;
+
+import tp1.exceptions.ObjectParseException;
+import tp1.logic.gameobjects.GameObject;
+import tp1.logic.gameobjects.GameObjectFactory;
+import tp1.logic.gameobjects.Goomba;
+
+/**
+ * Goombas y Mushrooms guardados como arrays de primitivos (uno por campo) en
+ * lugar de como objetos, para niveles de prueba con muchísimos enemigos.
+ *
+ * Cada mover es su registro empaquetado (tipo, dirección y casilla, ver
+ * GameObject.packRecord) más su orden de inserción y unos flags. update aplica
+ * las mismas reglas que MovingObject, Goomba y Mushroom: gravedad, andar o
+ * darse la vuelta y, solo los Goomba, interactuar tras cada paso. Solo se crea el GameObject de un mover
+ * (una "vista") cuando hace falta: si tiene cerca algún objeto no estático con
+ * el que interactuar, si otro objeto interactúa con él, para pintarlo o para
+ * guardarlo. Los movers se actualizan después de los objetos normales y no
+ * interactúan entre ellos.
+ */
+final class MoverStore {
+
+    private static final byte FALLING = 1;
+    private static final byte DEAD = 2;
+    private static final byte INTERACTS = 4; // Goomba, no Mushroom
+
+    private byte[] type;
+    private byte[] dir;    // ordinal de Action
+    private int[] cell;    // ver Cell
+    private int[] order;   // ver GameObject.getOrder, creciente
+    private byte[] flags;
+    private int size;
+
+    // Índice para las consultas por casilla: claves (casilla << 32 | i)
+    // ordenadas, se rehace en la primera consulta tras un cambio
+    private long[] byCell;
+    private boolean indexDirty;
+
+    // Resultado de near
+    private int[] hits;
+
+    // Mundo en el que se mueven y se crean las vistas
+    private final GameWorld game;
+
+    MoverStore(GameWorld game) {
+        this.game = game;
+        type = new byte[16];
+        dir = new byte[16];
+        cell = new int[16];
+        order = new int[16];
+        flags = new byte[16];
+        byCell = new long[0];
+        hits = new int[16];
+    }
+
+    int size() {
+        return size;
+    }
+
+    // El objeto debe tener ya su orden (los añadidos llegan en orden creciente)
+    void add(GameObject obj) {
+        if (size == cell.length) {
+            int capacity = 2 * size;
+            type = Arrays.copyOf(type, capacity);
+            dir = Arrays.copyOf(dir, capacity);
+            cell = Arrays.copyOf(cell, capacity);
+            order = Arrays.copyOf(order, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+        long record = obj.packRecord();
+        type[size] = (byte) (record >>> 40);
+        dir[size] = (byte) (record >>> 32);
+        cell[size] = (int) record;
+        order[size] = obj.getOrder();
+        flags[size] = (byte) ((obj.isAlive() ? 0 : DEAD) | (obj instanceof Goomba ? INTERACTS : 0));
+        size++;
+        indexDirty = true;
+    }
+
+    /**
+     * Actualiza los count primeros movers (los añadidos durante el ciclo
+     * esperan al siguiente, como en GameObjectContainer.update).
+     */
+    void update(int count) {
+        Action[] actions = Action.values();
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & DEAD) != 0) {
+                continue;
+            }
+            // 1. Gravedad (MovingObject.applyGravity y Goomba.applyGravity)
+            int c = cell[i];
+            if (!game.isInside(c)) {
+                flags[i] |= DEAD;
+                continue;
+            }
+            int below = Cell.down(c);
+            // Un Mushroom que sale por abajo muere ya (MovingObject); un
+            // Goomba cae fuera y muere en el ciclo siguiente (Goomba.applyGravity)
+            if (!game.isInside(below) && (flags[i] & INTERACTS) == 0) {
+                cell[i] = below;
+                flags[i] |= FALLING | DEAD;
+                continue;
+            }
+            if (!game.isSolid(below)) {
+                cell[i] = below;
+                indexDirty = true;
+                flags[i] |= FALLING;
+            } else {
+                flags[i] &= ~FALLING;
+            }
+            if (!interact(i) || (flags[i] & FALLING) != 0) {
+                continue;
+            }
+            // 2. Andar o darse la vuelta si choca con algo
+            Action direction = actions[dir[i]];
+            int next = Cell.move(cell[i], direction);
+            if (game.isInside(next) && !game.isSolid(next)) {
+                cell[i] = next;
+                indexDirty = true;
+                interact(i);
+            } else {
+                direction = (direction == Action.LEFT) ? Action.RIGHT : Action.LEFT;
+                dir[i] = (byte) direction.ordinal();
+            }
+        }
+        indexDirty = true;
+    }
+
+    // Si interactúa y hay algo con lo que hacerlo, lo hace con la vista del
+    // mover. Devuelve si sigue vivo
+    private boolean interact(int i) {
+        if ((flags[i] & INTERACTS) != 0 && game.hasDynamicNear(cell[i])) {
+            GameObject view = view(i);
+            game.doInteractionsFrom(view);
+            if (!view.isAlive()) {
+                flags[i] |= DEAD;
+            }
+        }
+        return (flags[i] & DEAD) == 0;
+    }
+
+    /**
+     * Guarda en hits los índices de los movers vivos anclados en la columna de
+     * cell, desde dos filas arriba hasta una abajo (la ventana de
+     * GameObjectContainer.gatherNearby), y devuelve cuántos son. Busca cada
+     * casilla en byCell como viewsAt y deja los índices en orden de inserción,
+     * el mismo en que saldrían recorriendo todos los movers.
+     */
+    int near(int c) {
+        if (size == 0) {
+            return 0;
+        }
+        if (indexDirty) {
+            rebuildIndex();
+        }
+        int found = 0;
+        for (int row = Cell.row(c) - 2; row <= Cell.row(c) + 1; row++) {
+            int target = Cell.of(row, Cell.col(c));
+            int k = Arrays.binarySearch(byCell, 0, size, (long) target << 32);
+            if (k < 0) {
+                k = -k - 1;
+            }
+            for (; k < size && (int) (byCell[k] >> 32) == target; k++) {
+                int i = (int) byCell[k];
+                if ((flags[i] & DEAD) == 0) {
+                    if (found == hits.length) {
+                        hits = Arrays.copyOf(hits, 2 * found);
+                    }
+                    hits[found++] = i;
+                }
+            }
+        }
+        Arrays.sort(hits, 0, found);
+        return found;
+    }
+
+    int hit(int k) {
+        return hits[k];
+    }
+
+    // Copia en el mover el resultado de una interacción con su vista
+    void sync(GameObject view) {
+        int i = Arrays.binarySearch(order, 0, size, view.getOrder());
+        if (i >= 0 && !view.isAlive()) {
+            flags[i] |= DEAD;
+        }
+    }
+
+    // Quita los muertos conservando el orden
+    void removeDead() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if ((flags[i] & DEAD) == 0) {
+                type[kept] = type[i];
+                dir[kept] = dir[i];
+                cell[kept] = cell[i];
+                order[kept] = order[i];
+                flags[kept] = flags[i];
+                kept++;
+            }
+        }
+        if (kept != size) {
+            size = kept;
+            indexDirty = true;
+        }
+    }
+
+    int order(int i) {
+        return order[i];
+    }
+
+    long record(int i) {
+        return ((long) (type[i] & 0xFF) << 40)
+                | ((long) (dir[i] & 0xFF) << 32)
+                | (cell[i] & 0xFFFFFFFFL);
+    }
+
+    // GameObject equivalente al mover i; no pertenece a ningún contenedor
+    GameObject view(int i) {
+        try {
+            GameObject obj = GameObjectFactory.unpackRecord(record(i), game);
+            obj.setOrder(order[i]);
+            return obj;
+        } catch (ObjectParseException e) {
+            // No debería ocurrir, los registros salen de objetos válidos
+            throw new IllegalStateException("Invalid mover record", e);
+        }
+    }
+
+    // Añade a found las vistas de los movers vivos anclados en la casilla
+    void viewsAt(int c, List<GameObject> found) {
+        if (size == 0) {
+            return;
+        }
+        if (indexDirty) {
+            rebuildIndex();
+        }
+        long key = (long) c << 32;
+        int k = Arrays.binarySearch(byCell, 0, size, key);
+        if (k < 0) {
+            k = -k - 1;
+        }
+        for (; k < size && (int) (byCell[k] >> 32) == c; k++) {
+            int i = (int) byCell[k];
+            if ((flags[i] & DEAD) == 0) {
+                found.add(view(i));
+            }
+        }
+    }
+
+    // Añade a found las vistas de los movers vivos anclados en el rectángulo
+    // (filas y columnas incluidas, dentro del tablero)
+    void viewsIn(int firstRow, int lastRow, int firstCol, int lastCol, List<GameObject> found) {
+        if (size == 0) {
+            return;
+        }
+        if (indexDirty) {
+            rebuildIndex();
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            long key = (long) Cell.of(row, firstCol) << 32;
+            int last = Cell.of(row, lastCol);
+            int k = Arrays.binarySearch(byCell, 0, size, key);
+            if (k < 0) {
+                k = -k - 1;
+            }
+            for (; k < size && (int) (byCell[k] >> 32) <= last; k++) {
+                int i = (int) byCell[k];
+                if ((flags[i] & DEAD) == 0) {
+                    found.add(view(i));
+                }
+            }
+        }
+    }
+
+    private void rebuildIndex() {
+        if (byCell.length < size) {
+            byCell = new long[cell.length];
+        }
+        for (int i = 0; i < size; i++) {
+            byCell[i] = ((long) cell[i] << 32) | i;
+        }
+        Arrays.sort(byCell, 0, size);
+        indexDirty = false;
+    }
+}
@@ -3,18 +3,96 @@ package tp1.logic;
 /**
  * Clase inmutable para manejar la posicion y mantener la encapsulación
  *
+ * Las posiciones se obtienen con {@link #of(int, int)}: las del tablero más
+ * grande creado hasta ahora (al menos Game.DIM_Y x Game.DIM_X, ver
+ * {@link #reserve(int, int)}) y las de un marco de una casilla alrededor
+ * están precreadas y se reutilizan, así que moverse a una casilla vecina no
+ * crea objetos nuevos. La tabla tiene como mucho MAX_TABLE_SIZE posiciones:
+ * en tableros mayores, y fuera de la tabla, se crea una posición nueva. Como
+ * siempre, las posiciones se comparan con equals, nunca con ==.
  */
 public class Position {
 
+    // Tabla de posiciones precreadas, con un marco de MARGIN casillas
+    private static final int MARGIN = 1;
+    // Unos 7 MB: da para tableros de 510 x 510 (512 x 512 con el marco)
+    private static final int MAX_TABLE_SIZE = 1 << 18;
+
+    // Se sustituye entera al crecer, así que of la lee sin bloquear
+    private static volatile Table table = new Table(Game.DIM_Y, Game.DIM_X, null);
+
+    // Resultado de parseCoord cuando el texto no es una coordenada
+    private static final long NOT_A_COORD = Long.MIN_VALUE;
+
+    private static final class Table {
+        final int rows; // con el marco
+        final int cols;
+        final Position[] positions;
+
+        // Las posiciones que ya estaban en old se reutilizan
+        Table(int boardRows, int boardCols, Table old) {
+            rows = boardRows + 2 * MARGIN;
+            cols = boardCols + 2 * MARGIN;
+            positions = new Position[rows * cols];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    positions[r * cols + c] = old != null && r < old.rows && c < old.cols
+                            ? old.positions[r * old.cols + c]
+                            : new Position(r - MARGIN, c - MARGIN);
+                }
+            }
+        }
+    }
+
     private final int col;
     private final int row;
 
-    //Constructor
-    public Position(int row, int col) {
+    //Constructor, privado: usar Position.of
+    private Position(int row, int col) {
         this.row = row;
         this.col = col;
 
     }
+
+    /**
+     * Devuelve la posición (row, col), compartida si está en la tabla. Si no
+     * lo está (lejos del tablero, o un tablero que no cabe en MAX_TABLE_SIZE)
+     * crea una nueva: es igual (equals) a cualquier otra de la misma casilla,
+     * solo cuesta una reserva de memoria más.
+     */
+    public static Position of(int row, int col) {
+        Table t = table;
+        int r = row + MARGIN;
+        int c = col + MARGIN;
+        if (r >= 0 && r < t.rows && c >= 0 && c < t.cols) {
+            return t.positions[r * t.cols + c];
+        }
+        return new Position(row, col);
+    }
+
+    /**
+     * Amplía la tabla de posiciones compartidas para que cubra un tablero de
+     * rows x cols, si no lo hace ya y cabe en MAX_TABLE_SIZE. Lo llama
+     * GameObjectContainer al crear cada tablero; la tabla nunca encoge.
+     */
+    static synchronized void reserve(int rows, int cols) {
+        Table t = table;
+        int newRows = Math.max(rows, t.rows - 2 * MARGIN);
+        int newCols = Math.max(cols, t.cols - 2 * MARGIN);
+        if (newRows + 2 * MARGIN == t.rows && newCols + 2 * MARGIN == t.cols) {
+            return;
+        }
+        if ((long) (newRows + 2 * MARGIN) * (newCols + 2 * MARGIN) > MAX_TABLE_SIZE) {
+            return;
+        }
+        table = new Table(newRows, newCols, t);
+    }
+
+    // Vuelve a la tabla inicial, la del tablero por defecto (para las pruebas,
+    // que no deben depender de los tableros creados por otras)
+    static synchronized void resetTable() {
+        table = new Table(Game.DIM_Y, Game.DIM_X, null);
+    }
     //Metodos (que puede hacer)
     //Getters
 
@@ -27,24 +105,24 @@ public class Position {
     }
 
     public Position right() {
-        return new Position(this.row, this.col + 1);
+        return of(this.row, this.col + 1);
     }
 
     public Position left() {
-        return new Position(this.row, this.col - 1);
+        return of(this.row, this.col - 1);
     }
 
     public Position up() {
-        return new Position(this.row - 1, this.col);
+        return of(this.row - 1, this.col);
     }
 
     public Position down() {
-        return new Position(this.row + 1, this.col);
+        return of(this.row + 1, this.col);
     }
 
     //Metodo para moverse: devuelve una nueva posicion, Posicion actual + desplazamiento
     public Position move(int deltaRow, int deltaCol) {
-        return new Position(row + deltaRow, col + deltaCol);
+        return of(row + deltaRow, col + deltaCol);
     }
 
     public Position move(Action action) {
@@ -68,12 +146,6 @@ public class Position {
         }
     }
 
-    //Comprobar si la posicion es valida
-    public boolean isValidPosition() {
-        return col >= 0 && col < Game.DIM_X
-                && row >= 0 && row < Game.DIM_Y;
-    }
-
     //Comparar Posiciones
     @Override
     public boolean equals(Object obj) {
@@ -87,6 +159,11 @@ public class Position {
         return col == position.col && row == position.row;
     }
 
+    @Override
+    public int hashCode() {
+        return Cell.of(row, col);
+    }
+
     public boolean equals(Position other) {
         if (other == null) {
             return false;
@@ -99,18 +176,57 @@ public class Position {
         return "(" + col + "," + row + ")";
     }
 
+    /**
+     * Lee "(fila,columna)" (los paréntesis son opcionales) recorriendo el texto
+     * una vez, sin trocearlo ni usar excepciones. Devuelve null si no es una
+     * posición.
+     */
     public static Position parsePosition(String posStr) {
-        try {
-            // Formato: (fila,columna)
-            posStr = posStr.replace("(", "").replace(")", "").trim();
-            String[] parts = posStr.split(",");
-            if (parts.length != 2) return null;
-            
-            int row = Integer.parseInt(parts[0].trim());
-            int col = Integer.parseInt(parts[1].trim());
-            return new Position(row, col);
-        } catch (Exception e) {
+        if (posStr == null) {
+            return null;
+        }
+        int end = posStr.length();
+        int i = 0;
+        if (i < end && posStr.charAt(i) == '(') {
+            i++;
+        }
+        if (end > i && posStr.charAt(end - 1) == ')') {
+            end--;
+        }
+        int comma = posStr.indexOf(',', i);
+        if (comma < 0 || comma >= end) {
             return null;
         }
+        long row = parseCoord(posStr, i, comma);
+        long col = parseCoord(posStr, comma + 1, end);
+        if (row == NOT_A_COORD || col == NOT_A_COORD) {
+            return null;
+        }
+        return of((int) row, (int) col);
+    }
+
+    // Entero con signo en posStr[from, to), NOT_A_COORD si no lo es o no cabe en un int
+    private static long parseCoord(String posStr, int from, int to) {
+        boolean negative = false;
+        if (from < to && (posStr.charAt(from) == '-' || posStr.charAt(from) == '+')) {
+            negative = posStr.charAt(from) == '-';
+            from++;
+        }
+        if (from == to) {
+            return NOT_A_COORD;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = posStr.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_A_COORD;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                return NOT_A_COORD;
+            }
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? NOT_A_COORD : value;
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package tp1.logic;
+
+import tp1.exceptions.GameModelException;
+
+/**
+ * Resultado de un guardado hecho en segundo plano (ver GameModel.pollSave).
+ */
+public final class SaveResult {
+
+    private final String fileName;
+    private final GameModelException error;
+
+    SaveResult(String fileName, GameModelException error) {
+        this.fileName = fileName;
+        this.error = error;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    // null si se guardó bien
+    public GameModelException getError() {
+        return error;
+    }
+}
@@ -0,0 +1,172 @@
+package tp1.logic;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import tp1.exceptions.GameModelException;
+
+/**
+ * Escribe las partidas guardadas en segundo plano, para que el hilo del juego
+ * no espere al disco.
+ *
+ * Cada guardado se escribe primero en un fichero temporal junto al destino
+ * (nombre + ".tmp"), se fuerza a disco y se renombra sobre el destino, así que
+ * una caída a mitad deja el fichero anterior intacto. Cada partida tiene su
+ * SaveWriter y cada SaveWriter su hilo, que hace las escrituras en el orden en
+ * que se piden; así una partida con el disco lento no retrasa a las demás. El
+ * hilo se crea con el primer guardado y termina si se queda un rato sin nada.
+ */
+final class SaveWriter {
+
+    // Escribe el contenido del fichero; se ejecuta en el hilo de escritura,
+    // así que solo debe usar datos que ya no cambien
+    interface Content {
+        void write(OutputStream out) throws IOException;
+    }
+
+    // Escritura que solo se notifica si falla (ver submitSilent)
+    interface Task {
+        void run() throws IOException;
+    }
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    // Segundos que el hilo de escritura espera sin trabajo antes de terminar
+    private static final long IDLE_SECONDS = 5;
+
+    private final ThreadPoolExecutor writer;
+    // Guardados terminados, los añade el hilo de escritura
+    private final Queue<SaveResult> finished;
+    // Guardados pedidos y no esperados todavía (solo desde el hilo del juego)
+    private final List<Future<?>> pending;
+
+    SaveWriter() {
+        writer = new ThreadPoolExecutor(1, 1, IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "save-writer");
+            thread.setDaemon(true); // los pendientes se esperan con awaitAll
+            return thread;
+        });
+        writer.allowCoreThreadTimeOut(true);
+        finished = new ConcurrentLinkedQueue<>();
+        pending = new ArrayList<>();
+    }
+
+    /**
+     * Encarga escribir content en fileName y vuelve enseguida; el resultado se
+     * recoge con poll. Solo falla aquí si el nombre no es una ruta válida.
+     */
+    void submit(String fileName, Content content) throws GameModelException {
+        Path target;
+        try {
+            target = Paths.get(fileName).toAbsolutePath();
+        } catch (InvalidPathException e) {
+            throw new GameModelException("Unable to save game to file: " + fileName, e);
+        }
+        pending.removeIf(Future::isDone);
+        pending.add(writer.submit(() -> finished.add(write(fileName, target, content))));
+    }
+
+    /**
+     * Encarga una escritura cualquiera (ver AutosaveLog) en el mismo hilo y
+     * orden que los guardados; a poll solo llega si falla.
+     */
+    void submitSilent(String fileName, Task task) {
+        pending.removeIf(Future::isDone);
+        pending.add(writer.submit(() -> {
+            try {
+                task.run();
+            } catch (IOException | RuntimeException e) {
+                finished.add(new SaveResult(fileName,
+                        new GameModelException("Unable to save game to file: " + fileName, e)));
+            }
+        }));
+    }
+
+    // Siguiente guardado terminado, null si no hay ninguno
+    SaveResult poll() {
+        return finished.poll();
+    }
+
+    // Espera a que terminen todos los guardados pedidos
+    void awaitAll() {
+        for (Future<?> f : pending) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // write y submitSilent recogen sus errores, no debería pasar
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        pending.clear();
+    }
+
+    private static SaveResult write(String fileName, Path target, Content content) {
+        try {
+            replace(target, content);
+            return new SaveResult(fileName, null);
+        } catch (IOException | RuntimeException e) {
+            return new SaveResult(fileName, new GameModelException("Unable to save game to file: " + fileName, e));
+        }
+    }
+
+    /**
+     * Sustituye target por content sin que se vea nunca a medias: escribe el
+     * temporal, lo fuerza a disco y lo renombra. Si falla, target no cambia.
+     */
+    static void replace(Path target, Content content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+                content.write(out);
+                out.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(target.getParent());
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignore) {} //ignoramos error
+            throw e;
+        }
+    }
+
+    // Fuerza a disco el directorio para que el renombrado sobreviva a una caída;
+    // no todos los sistemas dejan abrir un directorio, entonces no se hace
+    private static void syncDirectory(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignore) {} //ignoramos error
+    }
+}
@@ -0,0 +1,52 @@
+package tp1.logic;
+
+/**
+ * Buffer circular con las últimas instantáneas de la partida.
+ * Cuando se llena, cada instantánea nueva sobrescribe la más antigua.
+ */
+final class SnapshotHistory {
+
+    private final GameSnapshot[] ring;
+    private int head; // posición de la más reciente
+    private int size;
+
+    SnapshotHistory(int capacity) {
+        this.ring = new GameSnapshot[capacity];
+        this.head = -1;
+        this.size = 0;
+    }
+
+    void push(GameSnapshot snapshot) {
+        head = (head + 1) % ring.length;
+        ring[head] = snapshot;
+        if (size < ring.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Descarta las n instantáneas más recientes (o todas menos la más antigua
+     * si hay menos) y devuelve la que queda arriba.
+     * Devuelve null si no hay ninguna anterior a la actual.
+     */
+    GameSnapshot rewind(int n) {
+        if (size <= 1) {
+            return null;
+        }
+        int steps = Math.min(n, size - 1);
+        for (int i = 0; i < steps; i++) {
+            ring[head] = null;
+            head = (head - 1 + ring.length) % ring.length;
+            size--;
+        }
+        return ring[head];
+    }
+
+    void clear() {
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = null;
+        }
+        head = -1;
+        size = 0;
+    }
+}
@@ -6,6 +6,8 @@ import tp1.view.Messages;
 import tp1.exceptions.OffBoardException;
 
 public class Box extends GameObject {
+
+    private static final String[] TEXT_NAMES = { "BOX", "B" };
     
     private boolean isEmpty;
     
@@ -74,19 +76,14 @@ public class Box extends GameObject {
     }
     
     @Override
-    public GameObject parse(String[] objWords, GameWorld game) {
-        // Formato: (fila,col) BOX [FULL|EMPTY|F|E]
-        // o simplemente: (fila,col) B
-        if (objWords.length < 2) return null;
-        
-        String type = objWords[1].toUpperCase();
-        if (!type.equals("BOX") && !type.equals("B")) {
-            return null;
-        }
-        
-        Position pos = parsePosition(objWords[0]);
-        if (pos == null) return null;
-        
+    protected String[] textNames() {
+        return TEXT_NAMES;
+    }
+
+    // Formato: (fila,col) BOX [FULL|EMPTY|F|E]
+    // o simplemente: (fila,col) B
+    @Override
+    protected GameObject fromText(Position pos, String[] objWords, GameWorld game) {
         boolean isEmpty = false;
         if (objWords.length >= 3) {
             String state = objWords[2].toUpperCase();
@@ -97,18 +94,6 @@ public class Box extends GameObject {
         
         return new Box(game, pos, isEmpty);
     }
-    
-    private Position parsePosition(String posStr) {
-        try {
-            posStr = posStr.replace("(", "").replace(")", "");
-            String[] parts = posStr.split(",");
-            int row = Integer.parseInt(parts[0]);
-            int col = Integer.parseInt(parts[1]);
-            return new Position(row, col);
-        } catch (Exception e) {
-            return null;
-        }
-    }
 
     @Override
     public boolean canBeRemoved() {
@@ -124,6 +109,22 @@ public class Box extends GameObject {
         return "Box at " + getPosition().toString() + (isEmpty ? " (empty)" : " (full)");
     }
     
+    @Override
+    protected byte recordType() {
+        return 'B';
+    }
+
+    // Estado: 1 si está vacía
+    @Override
+    protected byte recordState() {
+        return (byte) (isEmpty ? 1 : 0);
+    }
+
+    @Override
+    protected GameObject fromRecord(Position pos, byte state, GameWorld game) {
+        return new Box(game, pos, state == 1);
+    }
+
     //serialize--> (fila,col) box estado (full o empty)
     @Override
     public String serialize() {
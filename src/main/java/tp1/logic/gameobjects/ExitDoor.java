@@ -6,6 +6,8 @@ import tp1.view.Messages;
 
 public class ExitDoor extends GameObject {
 
+    private static final String[] TEXT_NAMES = { "EXITDOOR", "ED" };
+
     public ExitDoor(GameWorld game, Position pos) {
         super(game, pos);
     }
@@ -51,34 +53,31 @@ public class ExitDoor extends GameObject {
     }
 
     @Override
-    public GameObject parse(String[] objWords, GameWorld game) {
-        // Formato: (fila,col) EXITDOOR
-        if (objWords.length < 2) return null;
-        
-        String type = objWords[1].toUpperCase();
-        if (!type.equals("EXITDOOR") && !type.equals("ED")) {
-            return null;
-        }
-        
-        Position pos = parsePosition(objWords[0]);
-        if (pos == null) return null;
-        
-        return new ExitDoor(game, pos);
+    protected String[] textNames() {
+        return TEXT_NAMES;
     }
 
-    private Position parsePosition(String posStr) {
-        try {
-        // Formato: (fila,columna)
-        posStr = posStr.replace("(", "").replace(")", "");
-        String[] parts = posStr.split(",");
-        int row = Integer.parseInt(parts[0]);
-        int col = Integer.parseInt(parts[1]);
-        return new Position(row, col);
-    } catch (Exception e) {
-        return null;
-        }
+    // Formato: (fila,col) EXITDOOR
+    @Override
+    protected GameObject fromText(Position pos, String[] objWords, GameWorld game) {
+        return new ExitDoor(game, pos);
     }
     
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
+    @Override
+    protected byte recordType() {
+        return 'D';
+    }
+
+    @Override
+    protected GameObject fromRecord(Position pos, byte state, GameWorld game) {
+        return new ExitDoor(game, pos);
+    }
+
     @Override
     public String serialize() {
         int row = getPosition().getRow();
@@ -1,12 +1,19 @@
 package tp1.logic.gameobjects;
 
+import java.io.DataOutput;
+import java.io.IOException;
+
 import tp1.logic.Action;
+import tp1.logic.Cell;
 import tp1.logic.GameWorld;
 import tp1.logic.Position;
 
 public abstract class GameObject implements GameItem {
 
     private Position pos;
+    protected GameWorld game;
+    private boolean isAlive;
+    private int order; // orden de inserción, lo asigna GameObjectContainer
 
     //Constructor con GameWorld y Position
     public GameObject(GameWorld game, Position pos) {
@@ -22,9 +29,6 @@ public abstract class GameObject implements GameItem {
         this.game = null;
     }
 
-    public GameObject parse(String[] objWords, GameWorld game) {
-        return null; // Implementación por defecto
-    }
     @Override
     public boolean isInPosition(Position p) {
         return this.pos != null && this.pos.equals(p);
@@ -42,8 +46,21 @@ public abstract class GameObject implements GameItem {
         return pos;
     }
 
+    public int getOrder() {
+        return order;
+    }
+
+    public void setOrder(int order) {
+        this.order = order;
+    }
+
+    // Avisa al mundo para que mantenga su índice de casillas al día
     protected void setPosition(Position newPos) {
+        Position oldPos = this.pos;
         this.pos = newPos;
+        if (game != null) {
+            game.objectMoved(this, oldPos);
+        }
     }
 
     public boolean canBeRemoved() {
@@ -74,7 +91,7 @@ public abstract class GameObject implements GameItem {
         if (dir != null && pos != null) {
             Position newPos = pos.move(dir);
             if (newPos != null && game != null && game.isInside(newPos)) {
-                this.pos = newPos;
+                setPosition(newPos);
             }
         }
     }
@@ -120,4 +137,58 @@ public abstract class GameObject implements GameItem {
     }
     public abstract String serialize();
 
+    // FORMATO DE TEXTO: "(fila,col) TIPO [argumentos]" (ver GameObjectFactory.parse)
+
+    // Nombres del tipo, en mayúsculas, con los que se reconoce la línea
+    protected String[] textNames() {
+        return new String[0];
+    }
+
+    // Crea el objeto de una línea con la posición ya leída; objWords es la
+    // línea entera, los argumentos propios del tipo van desde objWords[2]
+    protected GameObject fromText(Position pos, String[] objWords, GameWorld game) {
+        return null;
+    }
+
+    // FORMATO BINARIO: registro de tamaño fijo tipo(1) fila(4) columna(4) estado(1)
+
+    // Código de tipo del registro, distinto para cada clase
+    protected abstract byte recordType();
+
+    // Estado propio del objeto (dirección, tamaño, caja vacía...), 0 si no tiene
+    protected byte recordState() {
+        return 0;
+    }
+
+    public void writeRecord(DataOutput out) throws IOException {
+        out.writeByte(recordType());
+        out.writeInt(pos.getRow());
+        out.writeInt(pos.getCol());
+        out.writeByte(recordState());
+    }
+
+    // Igual que fromText pero desde un registro binario ya leído (para los prototipos)
+    protected GameObject fromRecord(Position pos, byte state, GameWorld game) {
+        return null;
+    }
+
+    // El mismo registro empaquetado en un long para las instantáneas de Game:
+    // tipo(8) estado(8) casilla(32, ver Cell); los 16 bits altos quedan a 0
+    public long packRecord() {
+        return ((long) (recordType() & 0xFF) << 40)
+                | ((long) (recordState() & 0xFF) << 32)
+                | (Cell.of(pos) & 0xFFFFFFFFL);
+    }
+
+    // Objetos que nunca cambian (Land, ExitDoor): las instantáneas los comparten
+    public boolean isStatic() {
+        return false;
+    }
+
+    // Objetos que se pueden guardar en el MoverStore (Goomba, Mushroom): solo
+    // andan con las reglas de MovingObject y su registro es todo su estado
+    public boolean isStoreMover() {
+        return false;
+    }
+
 }
\ No newline at end of file
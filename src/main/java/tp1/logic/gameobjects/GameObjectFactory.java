@@ -1,12 +1,19 @@
 package tp1.logic.gameobjects;
 
 import tp1.exceptions.ObjectParseException;
+import java.io.DataInput;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import tp1.view.Messages;
 
 
+import tp1.logic.Cell;
 import tp1.logic.GameWorld;
+import tp1.logic.Position;
 /**
  * Factoría de objetos del juego.
  * Parsea descripciones de objetos y crea instancias correspondientes.
@@ -22,23 +29,68 @@ public class GameObjectFactory {
         new Mushroom(),
         new Box()
     );
-   
-    public static GameObject parse(String[] objWords, GameWorld game)throws ObjectParseException { {
-        if (objWords == null || objWords.length == 0) {
-            throw new ObjectParseException(Messages.INVALID_GAME_OBJECT);
+
+    // Nombre de tipo del formato de texto (en mayúsculas) -> prototipo
+    private static final Map<String, GameObject> objectsByName = new HashMap<>();
+
+    static {
+        for (GameObject prototype : availableObjects) {
+            for (String name : prototype.textNames()) {
+                objectsByName.put(name, prototype);
+            }
+        }
+    }
+
+    /**
+     * Crea el objeto de una línea "(fila,col) TIPO [argumentos]" ya separada
+     * en palabras: el tipo elige el prototipo en un HashMap y solo ese lee
+     * sus argumentos (ver GameObject.fromText).
+     */
+    public static GameObject parse(String[] objWords, GameWorld game) throws ObjectParseException {
+        GameObject prototype = objWords != null && objWords.length >= 2
+                ? objectsByName.get(objWords[1].toUpperCase(Locale.ROOT))
+                : null;
+        Position pos = prototype != null ? Position.parsePosition(objWords[0]) : null;
+        //si el tipo no existe o la posicion no se entiende lanza objectparse exception
+        //(si la pos esta fuera del tablero lo detecta quien añade el objeto)
+        if (pos == null) {
+            if (objWords == null || objWords.length == 0) {
+                throw new ObjectParseException(Messages.INVALID_GAME_OBJECT);
             }
-        // Intentar parsear con cada prototipo de objeto
-        //si el tipo no existe en vez de lanzar null lanza objectparse exception
-        //si la pos esta fuera en vez de devolver null lnza offboardexception
+            String objString = String.join(" ", objWords);
+            throw new ObjectParseException(Messages.INVALID_GAME_OBJECT.formatted(objString));
+        }
+        return prototype.fromText(pos, objWords, game);
+    }
+
+    /**
+     * Lee un registro del formato binario (ver GameObject.writeRecord) y crea
+     * el objeto con el prototipo de su tipo.
+     */
+    public static GameObject readRecord(DataInput in, GameWorld game) throws IOException, ObjectParseException {
+        byte type = in.readByte();
+        int row = in.readInt();
+        int col = in.readInt();
+        byte state = in.readByte();
+        return fromRecord(type, Position.of(row, col), state, game);
+    }
+
+    /**
+     * Crea el objeto de un registro empaquetado (ver GameObject.packRecord).
+     */
+    public static GameObject unpackRecord(long record, GameWorld game) throws ObjectParseException {
+        byte type = (byte) (record >>> 40);
+        byte state = (byte) (record >>> 32);
+        return fromRecord(type, Cell.toPosition((int) record), state, game);
+    }
+
+    private static GameObject fromRecord(byte type, Position pos, byte state, GameWorld game)
+            throws ObjectParseException {
         for (GameObject prototype : availableObjects) {
-            GameObject obj = prototype.parse(objWords, game);
-            if (obj != null) {
-                return obj;
+            if (prototype.recordType() == type) {
+                return prototype.fromRecord(pos, state, game);
             }
         }
-        // Si ningún tipo reconoce la descripcion-->lanzar excepcion
-        String objString = String.join(" ", objWords);
-        throw new ObjectParseException(Messages.INVALID_GAME_OBJECT.formatted(objString));
+        throw new ObjectParseException(Messages.INVALID_GAME_OBJECT.formatted("type " + type));
     }
 }
-}
@@ -7,6 +7,8 @@ import tp1.view.Messages;
 
 public class Goomba extends MovingObject {
 
+    private static final String[] TEXT_NAMES = { "GOOMBA", "G" };
+
     protected Goomba() {
         super();
     }
@@ -27,7 +29,7 @@ public class Goomba extends MovingObject {
 
     @Override
     public void update() {
-        if (!vivo) {
+        if (!isAlive()) {
             return; //Si no esta vivo no hace nada duh
         }        
         //1: Aplicar gravedad
@@ -36,13 +38,7 @@ public class Goomba extends MovingObject {
 
         // 2: Horizontal movement if not falling
         if (!isFalling) {
-            Position pos = getPosition();
-            Position newPos = pos.move(0, direccion);
-            if (canMoveTo(newPos)) {
-                setPosition(newPos);
-            } else {
-                newPos = currentPos.right();
-            }
+            Position newPos = getPosition().move(direction);
 
             if(canMoveTo(newPos)){
                 setPosition(newPos);
@@ -60,19 +56,38 @@ public class Goomba extends MovingObject {
         return other.receiveInteraction(this);
     }
 
-    private void applyGravity() {
+    @Override
+    public boolean isStoreMover() {
+        return true;
+    }
+
+    @Override
+    protected byte recordType() {
+        return 'G';
+    }
+
+    @Override
+    protected GameObject fromRecord(Position pos, byte state, GameWorld game) {
+        Goomba goomba = new Goomba(game, pos);
+        goomba.direction = directionFromRecord(state);
+        return goomba;
+    }
+
+    @Override
+    protected void applyGravity() {
         Position pos = getPosition();
         Position debajo = pos.move(Action.DOWN.getY(), Action.DOWN.getX());
         //Si se sale del tablero muere
-        if (!pos.isValidPosition()) {
-            die();
+        if (!game.isInside(pos)) {
+            dead();
         }
-        if (!game.getGameObjects().isSolid(debajo)) {
+        if (!game.isSolid(debajo)) {
             isFalling = true;
             setPosition(debajo);
         } else {
             isFalling = false;
         }
+    }
 
     @Override
     public String getIcon() {
@@ -84,34 +99,34 @@ public class Goomba extends MovingObject {
         return false;
     }
 
-
-    private boolean canMoveTo(Position position) {
-        //Comprueba si la posicion es valida y no hay ningun Land en esa posicion
-        return position.isValidPosition() && !game.getGameObjects().isSolid(position);
+    @Override
+    public String toString() {
+        return "Goomba at " + getPosition().toString();
     }
 
-    private Position parsePosition(String posStr) {
-        try {
-        // Formato: (fila,columna)
-        posStr = posStr.replace("(", "").replace(")", "");
-        String[] parts = posStr.split(",");
-        int row = Integer.parseInt(parts[0]);
-        int col = Integer.parseInt(parts[1]);
-        return new Position(row, col);
-    } catch (Exception e) {
-        return null;
+    @Override
+    protected String[] textNames() {
+        return TEXT_NAMES;
     }
-        
+
+    // Formato: (fila,col) GOOMBA [LEFT|RIGHT|L|R]
+    @Override
+    protected GameObject fromText(Position pos, String[] objWords, GameWorld game) {
+        Goomba goomba = new Goomba(game, pos);
+        if (objWords.length > 2) {
+            Action dir = Action.parse(objWords[2]);
+            if (dir == Action.LEFT || dir == Action.RIGHT) {
+                goomba.direction = dir;
+            }
+        }
+        return goomba;
     }
     //serialize tiene q escribir (fila, col) goomba direccion
     @Override
     public String serialize() {
     	int row = getPosition().getRow();
         int col = getPosition().getCol();
-
-    @Override
-    public boolean estaVivo() {
-        return vivo;
+        return "(" + row + "," + col + ") Goomba " + direction;
     }
 
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import tp1.view.Messages;
 
 public class Land extends GameObject {
 
+    private static final String[] TEXT_NAMES = { "LAND", "L" };
+
     public Land(GameWorld game, Position pos) {
         super(game, pos);
     }
@@ -42,34 +44,30 @@ public class Land extends GameObject {
 
     
     @Override
-    public GameObject parse(String[] objWords, GameWorld game) {
-        // Formato: (fila,col) LAND
-        if (objWords.length < 2) return null;
-        
-        String type = objWords[1].toUpperCase();
-        if (!type.equals("LAND") && !type.equals("L")) {
-            return null;
-        }
-        
-        Position pos = parsePosition(objWords[0]);
-        if (pos == null) return null;
-        
+    protected String[] textNames() {
+        return TEXT_NAMES;
+    }
+
+    // Formato: (fila,col) LAND
+    @Override
+    protected GameObject fromText(Position pos, String[] objWords, GameWorld game) {
         return new Land(game, pos);
     }
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
 
-    private Position parsePosition(String posStr) {
-        try {
-        // Formato: (fila,columna)
-        posStr = posStr.replace("(", "").replace(")", "");
-        String[] parts = posStr.split(",");
-        int row = Integer.parseInt(parts[0]);
-        int col = Integer.parseInt(parts[1]);
-        return new Position(row, col);
-    } catch (Exception e) {
-        return null;
+    @Override
+    protected byte recordType() {
+        return 'L';
     }
-        
+
+    @Override
+    protected GameObject fromRecord(Position pos, byte state, GameWorld game) {
+        return new Land(game, pos);
     }
+
     @Override
     public String serialize(){
     	int row = getPosition().getRow();
@@ -2,6 +2,7 @@ package tp1.logic.gameobjects;
 
 import tp1.logic.Action;
 import tp1.logic.ActionList;
+import tp1.logic.Cell;
 import tp1.logic.GameWorld;
 import tp1.logic.Position;
 import tp1.view.Messages;
@@ -9,6 +10,8 @@ import tp1.view.Messages;
 //Mario class extiende de GameObject, es su hijo
 public class Mario extends MovingObject {
 
+    private static final String[] TEXT_NAMES = { "MARIO", "M" };
+
     private boolean big;
     private ActionList accionesPendientes;
     private boolean hasMovedThisTurn; //Para saber si ya se ha movido en el turno actual
@@ -36,9 +39,9 @@ public class Mario extends MovingObject {
     public void update() {
         Position pos = getPosition();
 
-        if (!pos.isValidPosition() || (big && new Position(pos.getRow() + 1, pos.getCol()).getRow() > 14)) {
+        if (!game.isInside(pos) || (big && Position.of(pos.getRow() + 1, pos.getCol()).getRow() >= game.getRows())) {
             // Si Mario es grande y la casilla superior (row-1) está fuera
-            game.marioDies();
+            game.loseLife();
             return;
         }
         //TODO fill your code
@@ -74,20 +77,16 @@ public class Mario extends MovingObject {
         accionesPendientes.clear();
     }
 
-    private void applyGravity() {
+    @Override
+    protected void applyGravity() {
         Position pos = getPosition();
         Position debajo = pos.move(Action.DOWN.getY(), Action.DOWN.getX());
-        //Si se sale del tablero muere
-        if (!debajo.isValidPosition()) {
-            game.marioDies();
-            return;
-        }
-        if (!pos.isValidPosition()) {
-            game.marioDies();
+        if (!game.isInside(pos)) {
             return;
         }
-        //Si no hay suelo cae
-        if (debajo.isValidPosition() && !game.getGameObjects().isSolid(debajo)) {
+        //Si no hay suelo cae; por debajo de la ultima fila sale del tablero
+        //y pierde la vida al final de update
+        if (!game.isInside(debajo) || !game.isSolid(debajo)) {
             setPosition(debajo);
             isFalling = true;
             hasMovedThisTurn = true;
@@ -95,11 +94,23 @@ public class Mario extends MovingObject {
 
     }
 
-    //Comprueba si Mario esta en el suelo
-    private boolean isOnGround() {
-        Position pos = getPosition();
-        Position below = pos.move(Action.DOWN.getY(), Action.DOWN.getX());
-        return !below.isValidPosition() || game.getGameObjects().isSolid(below);
+    //Cae de golpe hasta el suelo: lo mismo que repetir applyGravity mientras
+    //no este en el suelo, pero sin recorrer la columna (ver landingCell)
+    private void dropToGround() {
+        int cell = Cell.of(getPosition());
+        if (!game.isInside(cell)) {
+            return;
+        }
+        int below = Cell.down(cell);
+        int landing = game.isInside(below) ? game.landingCell(below) : below;
+        //Sin suelo hasta la ultima fila sale del tablero y pierde la vida
+        //al final de update
+        if (game.isInside(landing) && !game.isInside(Cell.down(landing))) {
+            landing = Cell.down(landing);
+        }
+        setPosition(Cell.toPosition(landing));
+        isFalling = true;
+        hasMovedThisTurn = true;
     }
 
     //Ejecuta una accion
@@ -138,18 +149,13 @@ public class Mario extends MovingObject {
                 break;
 
             case DOWN:
-                if(isOnGround()){
-                   direccion = 0; //Queda en STOP
-                }else{
-                   while (!isOnGround()) {
-                     applyGravity();
-                    }
-                    } 
-                }else {
-                        direction = Action.STOP;
-                        game.doInteractionsFrom(this);
-                    }
-                    break;
+                if (isOnGround()) {
+                    direction = Action.STOP; //Queda en STOP
+                    game.doInteractionsFrom(this);
+                } else {
+                    dropToGround();
+                }
+                break;
 
             case STOP:
                 direction = Action.STOP;
@@ -161,22 +167,21 @@ public class Mario extends MovingObject {
 
     // Movimiento automatico version nueva y renovada
     private void performAutomaticMovement() {
-        Position pos = getPosition();
-        if (direccion == 0) {
-            return; //Estamos en STOP;
-        }
-        
-        if (!isOnGround() && !hasMovedThisTurn) {
+        //Si no hay suelo cae, y en ese turno no avanza
+        if (!isOnGround()) {
             applyGravity();
-            game.doInteractionsFrom(this);
+            return;
+        }
+        if (direction == Action.STOP) {
+            return; //Estamos en STOP;
         }
-        Position newPos = pos.move(0, direccion);
+        Position newPos = getPosition().move(direction);
 
         if (canMoveTo(newPos)) {
             setPosition(newPos);
         } else {
-            direccion = -direccion; //Cambia de direccion si se choca
-            facingRight = (direccion == 1);
+            //Cambia de direccion si se choca
+            direction = (direction == Action.LEFT) ? Action.RIGHT : Action.LEFT;
         }
     }
     @Override
@@ -186,18 +191,6 @@ public class Mario extends MovingObject {
        if (!game.isInside(position) || game.isSolid(position)) {
             return false;
         }
-
-    public boolean interactWith(ExitDoor door) {
-        if (isInPosition(door.getPosition())) {
-            game.marioExited();
-            return true;
-        }
-
-        return true;
-    }
-    public boolean receiveInteraction(Goomba goomba) {
-        // Mario recibe daño del Goomba
-        game.marioDies();
         return true;
     }
 
@@ -212,36 +205,46 @@ public class Mario extends MovingObject {
         return other.receiveInteraction(this);
     }
 
+    @Override
+    public boolean receiveInteraction(Goomba goomba) {
         if (!isInPosition(goomba.getPosition())) {
             return false;
         }
-        if (!goomba.estaVivo()) {
+        if (!goomba.isAlive()) {
             return false;
         }
         //Esta saltando sobre el wombat?
 
         if (isFalling) {
             //El goomba muere RIP
-            goomba.receiveInteraction(this);
-            game.addPoints(100);
+            goomba.dead();
+            game.addScore(100);
         }else{
             if(this.isBig()){
                 //Se hace pequeño, pero no muere
                 setBig(false);
                 //El si que muere goomba 
-                goomba.receiveInteraction(this);
-                game.addPoints(100);
+                goomba.dead();
+                game.addScore(100);
             }else{
                 //El goomba tambien muere?? @PETA
-                goomba.receiveInteraction(this);
+                goomba.dead();
                 //Mario pequeño muere
-                game.marioDies();
+                game.loseLife();
                 //Esto ya es morboso
-                game.addPoints(100);
+                game.addScore(100);
             }
         }
+        return true;
+    }
+
+    @Override
+    public boolean receiveInteraction(Mushroom mushroom) {
+        if (!isInPosition(mushroom.getPosition())) {
+            return false;
+        }
         // Si ya es grande, no pasa nada
-        
+        setBig(true);
         // Mushroom desaparece
         mushroom.dead();
         
@@ -303,7 +306,7 @@ public class Mario extends MovingObject {
         }
 
         if (big) {
-            Position above = currentPos.up();
+            Position above = pos.up();
             return above.equals(position);
         }
         return false;
@@ -326,73 +329,74 @@ public class Mario extends MovingObject {
     }
 
     @Override
-    public GameObject parse(String[] objWords, GameWorld game) {
-       // Formato: (fila,col) MARIO [LEFT|RIGHT|STOP|L|R|S] [BIG|SMALL|B|S]
-    if (objWords.length < 2) return null;
-    
-    String type = objWords[1].toUpperCase();
-    if (!type.equals("MARIO") && !type.equals("M")) {
-        return null;
+    protected String[] textNames() {
+        return TEXT_NAMES;
     }
-    
-    // Parsear posición
-    Position pos = parsePosition(objWords[0]);
-    if (pos == null) return null;
-    
-    // Crear Mario con valores por defecto
-    Mario mario = new Mario(game, pos);
-    
-    // Parsear dirección (si existe)
-    if (objWords.length > 2) {
-        String dirStr = objWords[2].toUpperCase();
-        switch (dirStr) {
-            case "LEFT":
-            case "L":
-                mario.direction = Action.LEFT;
-                break;
-            case "RIGHT":
-            case "R":
-                mario.direction = Action.RIGHT;
-                break;
-            case "STOP":
-            case "S":
-                mario.direction = Action.STOP;
-                break;
+
+    // Formato: (fila,col) MARIO [LEFT|RIGHT|STOP|L|R|S] [BIG|SMALL|B|S]
+    @Override
+    protected GameObject fromText(Position pos, String[] objWords, GameWorld game) {
+        // Crear Mario con valores por defecto
+        Mario mario = new Mario(game, pos);
+
+        // Parsear dirección (si existe)
+        if (objWords.length > 2) {
+            String dirStr = objWords[2].toUpperCase();
+            switch (dirStr) {
+                case "LEFT":
+                case "L":
+                    mario.direction = Action.LEFT;
+                    break;
+                case "RIGHT":
+                case "R":
+                    mario.direction = Action.RIGHT;
+                    break;
+                case "STOP":
+                case "S":
+                    mario.direction = Action.STOP;
+                    break;
+            }
         }
-    }
-    
-    // Parsear tamaño (si existe)
-    if (objWords.length > 3) {
-        String sizeStr = objWords[3].toUpperCase();
-        switch (sizeStr) {
-            case "BIG":
-            case "B":
-                mario.setBig(true);
-                break;
-            case "SMALL":
-            case "S":
-                mario.setBig(false);
-                break;
+
+        // Parsear tamaño (si existe)
+        if (objWords.length > 3) {
+            String sizeStr = objWords[3].toUpperCase();
+            switch (sizeStr) {
+                case "BIG":
+                case "B":
+                    mario.setBig(true);
+                    break;
+                case "SMALL":
+                case "S":
+                    mario.setBig(false);
+                    break;
+            }
         }
+
+        return mario;
     }
     
-    return mario;
-}
-
-    // Método auxiliar para parsear posición
-    private Position parsePosition(String posStr) {
-        try {
-            // Formato: (fila,columna)
-            posStr = posStr.replace("(", "").replace(")", "");
-            String[] parts = posStr.split(",");
-            int row = Integer.parseInt(parts[0]);
-            int col = Integer.parseInt(parts[1]);
-            return new Position(row, col);
-        } catch (Exception e) {
-            return null;
-        }
+    @Override
+    protected byte recordType() {
+        return 'M';
     }
-    
+
+    // Estado: dirección en los bits bajos y BIG_FLAG si es grande
+    @Override
+    protected byte recordState() {
+        return (byte) (super.recordState() | (big ? BIG_FLAG : 0));
+    }
+
+    @Override
+    protected GameObject fromRecord(Position pos, byte state, GameWorld game) {
+        Mario mario = new Mario(game, pos);
+        mario.direction = directionFromRecord(state);
+        mario.setBig((state & BIG_FLAG) != 0);
+        return mario;
+    }
+
+    private static final int BIG_FLAG = 0x8;
+
     //Crear funcion serialize que admita (f,col)MARIO dir tamaño
     @Override
     public String serialize() {
@@ -1,6 +1,7 @@
 package tp1.logic.gameobjects;
 
 import tp1.logic.Action;
+import tp1.logic.Cell;
 import tp1.logic.GameWorld;
 import tp1.logic.Position;
 
@@ -35,18 +36,18 @@ public abstract class MovingObject extends GameObject {
      */
 
      protected void applyGravity(){
-        Position currentPos = getPosition();
-        Position below = currentPos.down();
+        int cell = Cell.of(getPosition());
+        int below = Cell.down(cell);
 
         //Si está fuera del tablero, manejar según el tipo de objeto
-        if(!game.isInside(currentPos)){
+        if(!game.isInside(cell)){
             handleOutOfBounds();
             return;
         }
 
         //Si la posicion inferior está fuera, el objeto debe caer/morir
         if(!game.isInside(below)){
-            setPosition(below);
+            setPosition(Cell.toPosition(below));
             isFalling = true;
             handleOutOfBounds();
             return;
@@ -54,7 +55,7 @@ public abstract class MovingObject extends GameObject {
 
         //Si no hay nada sólido debajo, cae
         if(!game.isSolid(below)){
-            setPosition(below);
+            setPosition(Cell.toPosition(below));
             isFalling = true;
         }else{
             isFalling = false; //Deja de caer cuando toca suelo
@@ -65,13 +66,13 @@ public abstract class MovingObject extends GameObject {
       * Para centralizar y no duplicar en goomba y Mario
       */
       protected boolean isOnGround(){
-        Position currentPos = getPosition();
+        int cell = Cell.of(getPosition());
         //Si está fuera del tablero, no esta en el suelo
-        if(!game.isInside(currentPos)){
+        if(!game.isInside(cell)){
             return false;
         }
 
-        Position below = currentPos.down();
+        int below = Cell.down(cell);
 
         //Si ebelow está fuera, pues lo mismo
         if(!game.isInside(below)){
@@ -85,7 +86,8 @@ public abstract class MovingObject extends GameObject {
      * Verifica si el objeto puede moverse a una posición dada
      */
     protected boolean canMoveTo(Position position) {
-        return game.isInside(position) && !game.isSolid(position);
+        int cell = Cell.of(position);
+        return game.isInside(cell) && !game.isSolid(cell);
     }
     /**
      * Método abstracto para manejar cuando el objeto sale del tablero.
@@ -93,6 +95,20 @@ public abstract class MovingObject extends GameObject {
      */
     protected abstract void handleOutOfBounds();
 
+    // En el formato binario el estado guarda la dirección (ordinal de Action)
+    protected static final int DIRECTION_MASK = 0x7;
+
+    @Override
+    protected byte recordState() {
+        return (byte) direction.ordinal();
+    }
+
+    protected static Action directionFromRecord(byte state) {
+        Action[] actions = Action.values();
+        int i = state & DIRECTION_MASK;
+        return i < actions.length ? actions[i] : Action.RIGHT;
+    }
+
     // Getter para saber si está cayendo
     public boolean isFalling() {
         return isFalling;
@@ -6,6 +6,8 @@ import tp1.logic.Position;
 import tp1.view.Messages;
 
 public class Mushroom extends MovingObject {
+
+    private static final String[] TEXT_NAMES = { "MUSHROOM", "MU" };
     
     protected Mushroom() {
         super();
@@ -81,34 +83,34 @@ public class Mushroom extends MovingObject {
     }
 
     @Override
-    public GameObject parse(String[] objWords, GameWorld game) {
-        // Formato: (fila,col) MUSHROOM o MU
-        if (objWords.length < 2) return null;
-        
-        String type = objWords[1].toUpperCase();
-        if (!type.equals("MUSHROOM") && !type.equals("MU")) {
-            return null;
-        }
-        
-        Position pos = parsePosition(objWords[0]);
-        if (pos == null) return null;
-        
-        return new Mushroom(game, pos);
+    protected String[] textNames() {
+        return TEXT_NAMES;
     }
-    
-    private Position parsePosition(String posStr) {
-        try {
-            posStr = posStr.replace("(", "").replace(")", "");
-            String[] parts = posStr.split(",");
-            int row = Integer.parseInt(parts[0]);
-            int col = Integer.parseInt(parts[1]);
-            return new Position(row, col);
-        } catch (Exception e) {
-            return null;
-        }
+
+    // Formato: (fila,col) MUSHROOM
+    @Override
+    protected GameObject fromText(Position pos, String[] objWords, GameWorld game) {
+        return new Mushroom(game, pos);
     }
     
    
+    @Override
+    public boolean isStoreMover() {
+        return true;
+    }
+
+    @Override
+    protected byte recordType() {
+        return 'U';
+    }
+
+    @Override
+    protected GameObject fromRecord(Position pos, byte state, GameWorld game) {
+        Mushroom mushroom = new Mushroom(game, pos);
+        mushroom.direction = directionFromRecord(state);
+        return mushroom;
+    }
+
     //serialize-> (fila,col) mushroom
     @Override
     public String serialize() {
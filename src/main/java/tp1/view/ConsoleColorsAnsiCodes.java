@@ -44,5 +44,10 @@ public class ConsoleColorsAnsiCodes {
     // Estos de abajo no funcionan en Eclipse
     public static final String ANSI_3FILAS = "\u001B[3B";   
     public static final String ANSI_5COLS = "\u001B[5C";
+    public static final String ANSI_CSI = "\u001B[";
+    public static final String ANSI_CURSOR_TO_END = "H"; // ANSI_CSI + fila;columna + esto, desde 1
+    public static final String ANSI_CLEAR_SCREEN = "\u001B[H\u001B[2J";
+    public static final String ANSI_CLEAR_LINE = "\u001B[2K";
+    public static final String ANSI_CLEAR_BELOW = "\u001B[J";
     
 }
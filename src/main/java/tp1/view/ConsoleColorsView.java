@@ -24,8 +24,10 @@ public class ConsoleColorsView extends ConsoleView {
 		super(game);
 	}
 	
+	// ConsoleView.consoleCell guarda el resultado: cada casilla distinta se
+	// formatea una vez
 	@Override
-	protected String consoleCell(String celStr) {
+	protected String formatCell(String celStr) {
 		String consoleStr = celStr;
 
 		if (celStr.equals(Messages.EMPTY)) consoleStr = EMPTY_CELL;
@@ -1,8 +1,17 @@
 package tp1.view;
 
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Scanner;
 
 import tp1.logic.Game;
+import tp1.logic.Position;
 import tp1.util.MyStringUtils;
 import static tp1.util.MyStringUtils.repeat;
 
@@ -22,19 +31,70 @@ public class ConsoleView extends GameView {
 
 	private static final String CELL_BORDER = repeat(CELL_BORDER_CHAR, CELL_SIZE);
 
-	private static final String ROW_BORDER = repeat(CELL_BORDER, Game.DIM_X);
+	// Tamaño de la ventana del tablero que se pinta (la cámara, ver moveCamera)
+	public static final int VIEW_ROWS = Game.DIM_Y;
+	public static final int VIEW_COLS = Game.DIM_X;
+
+	private static final String ROW_BORDER = repeat(CELL_BORDER, VIEW_COLS);
 
 	private static final String UPPER_ROW_BORDER = "┌" + ROW_BORDER + "┐" + NEW_LINE;
 	private static final String LOWER_ROW_BORDER = "└" + ROW_BORDER + "┘" + NEW_LINE;
 
 	private static final String TAB = MyStringUtils.repeat(SPACE, CELL_SIZE);
 
+	// Trozos fijos del frame, calculados una sola vez. Los nombres de filas y
+	// columnas se repiten cada NAME_CYCLE, así que basta con uno por resto
+	private static final int NAME_CYCLE = 100;
+	private static final String[] COL_LINE = new String[NAME_CYCLE]; // según la primera columna
+	private static final String[] ROW_START = new String[NAME_CYCLE];
+	private static final String[] ROW_END = new String[NAME_CYCLE];
+
+	static {
+		for (int row = 0; row < NAME_CYCLE; row++) {
+			ROW_START[row] = MyStringUtils.right(getRowName(row), LATERAL_TAB_SIZE) + VERTICAL_DELIMITER;
+			ROW_END[row] = VERTICAL_DELIMITER + getRowName(row) + NEW_LINE;
+		}
+	}
+
+	// Tamaño aproximado de un frame (las casillas en color ocupan más, crece solo)
+	private static final int FRAME_CAPACITY = (VIEW_ROWS + 8) * (VIEW_COLS + 2) * CELL_SIZE * 2;
+
 
 	Scanner scanner;
 
+	// Buffers reutilizados entre frames para construirlo y codificarlo
+	private final StringBuilder frame;
+	private char[] chars;
+	private CharBuffer charView;
+	private ByteBuffer bytes;
+	private CharsetEncoder encoder;
+
+	// Casilla del mundo en la esquina superior izquierda de la ventana
+	protected int firstRow;
+	protected int firstCol;
+	// Contenido de las casillas de la ventana (ver GameStatus.fillFrame), por filas
+	protected final String[] cells;
+
+	// Casillas ya formateadas (ver formatCell), por contenido. Hay muy pocas
+	// combinaciones de iconos distintas, así que en régimen estable no se
+	// formatea nada; el límite solo evita crecer sin fin con combinaciones
+	// raras (se va la que lleva más tiempo sin usarse). Cada vista tiene la
+	// suya: una vista solo se pinta desde un hilo, pero puede haber varias
+	// partidas a la vez
+	private static final int CELL_CACHE_SIZE = 256;
+	private final Map<String, String> cellCache;
+
 	public ConsoleView(Game game) {
 		super(game);
 		scanner = new Scanner(System.in);
+		frame = new StringBuilder(FRAME_CAPACITY);
+		cells = new String[VIEW_ROWS * VIEW_COLS];
+		cellCache = new LinkedHashMap<>(2 * CELL_CACHE_SIZE, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > CELL_CACHE_SIZE;
+			}
+		};
 	}
 		
 	/**
@@ -42,15 +102,13 @@ public class ConsoleView extends GameView {
 	 * 
 	 * @return the string that represents the game status.
 	 */
-	private String getInfo() {
-		StringBuilder buffer = new StringBuilder();
+	private void appendInfo(StringBuilder buffer) {
 		/* @formatter:off */
 		buffer
-		.append(Messages.REMAINING_TIME.formatted(game.remainingTime())).append(NEW_LINE)
-		.append(Messages.POINTS.formatted(game.points())).append(NEW_LINE)
-		.append(Messages.NUM_LIVES.formatted(game.numLives())).append(NEW_LINE);
+		.append(Messages.REMAINING_TIME_LABEL).append(game.remainingTime()).append(NEW_LINE)
+		.append(Messages.POINTS_LABEL).append(game.points()).append(NEW_LINE)
+		.append(Messages.NUM_LIVES_LABEL).append(game.numLives()).append(NEW_LINE);
 		/* @formatter:on */
-		return buffer.toString();
 	}
 	
 	public static String getColName(int num) {
@@ -69,47 +127,119 @@ public class ConsoleView extends GameView {
 	
 	@Override
 	public String toString() {
-		StringBuilder str = new StringBuilder();
+		return buildFrame().toString();
+	}
+
+	/**
+	 * Centra la ventana en Mario sin salirse del tablero. Si el tablero cabe
+	 * entero en la ventana (los niveles predefinidos) se queda en (0, 0).
+	 * Sin Mario la ventana no se mueve.
+	 */
+	protected void moveCamera() {
+		Position mario = game.marioPosition();
+		if (mario != null) {
+			firstRow = cameraStart(mario.getRow(), game.getRows(), VIEW_ROWS);
+			firstCol = cameraStart(mario.getCol(), game.getCols(), VIEW_COLS);
+		}
+	}
+
+	private static int cameraStart(int center, int size, int view) {
+		return Math.max(0, Math.min(center - view / 2, size - view));
+	}
+
+	/**
+	 * Construye el frame en el buffer reutilizable de la vista.
+	 * Solo se recorren las casillas de la ventana, así que el coste no depende
+	 * del tamaño del tablero; la numeración es la de las casillas del mundo.
+	 * 
+	 * @return el buffer, válido hasta el siguiente frame
+	 */
+	protected StringBuilder buildFrame() {
+		StringBuilder str = frame;
+		str.setLength(0);
+		moveCamera();
+		game.fillFrame(firstRow, firstCol, VIEW_ROWS, VIEW_COLS, cells);
+		String colLine = colLine(firstCol);
 		
 		// Game Status
-		str.append(getInfo());
+		appendInfo(str);
 		str.append(NEW_LINE);
 
 		// Paint game board
-		str.append(colLine(Game.DIM_X));
+		str.append(colLine);
 		str.append(LATERAL_TAB);
 		str.append(UPPER_ROW_BORDER);
 
-		for (int row = 0; row < Game.DIM_Y; row++) {
-			str.append(MyStringUtils.right( getRowName(row) , LATERAL_TAB_SIZE) );
-			str.append(VERTICAL_DELIMITER);
+		for (int row = 0; row < VIEW_ROWS; row++) {
+			str.append(ROW_START[(firstRow + row) % NAME_CYCLE]);
 
-			for (int col = 0; col < Game.DIM_X; col++) {
-				str.append(consoleCell(game.positionToString(col, row)));
+			for (int col = 0; col < VIEW_COLS; col++) {
+				str.append(consoleCell(cells[row * VIEW_COLS + col]));
 				//str.append(VERTICAL_DELIMITER);
 			}
-			str.append(VERTICAL_DELIMITER);
-			str.append( getRowName(row) );
-			str.append(NEW_LINE);
+			str.append(ROW_END[(firstRow + row) % NAME_CYCLE]);
 			//str.append(ROW_BORDER);
 		}
 
 		str.append(LATERAL_TAB);
 		str.append(LOWER_ROW_BORDER);
-		str.append(colLine(Game.DIM_X));
+		str.append(colLine);
 
-		return str.toString();
+		return str;
 	}
 
-	private static String colLine(int dimX) {
-		StringBuilder str = new StringBuilder();
-		str.append(LATERAL_TAB + SPACE);
+	/**
+	 * Escribe el texto en la salida estándar con una sola escritura:
+	 * lo codifica en un buffer de bytes reutilizado (con el charset de
+	 * System.out, UTF-8 normalmente) y lo vuelca de una vez. Se escribe en
+	 * System.out y no en un canal propio sobre la salida estándar para que
+	 * System.setOut (pruebas, vistas capturadas) y su charset sigan valiendo;
+	 * como ya es una sola escritura de bytes, el canal no ahorraría nada.
+	 */
+	protected void write(StringBuilder text) {
+		PrintStream out = System.out;
+		Charset charset = out.charset();
+		if (encoder == null || !encoder.charset().equals(charset)) {
+			encoder = charset.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
 
-		for (int col = 0; col < dimX; col++) {
-			str.append(MyStringUtils.center( getColName(col), CELL_SIZE));
+		int length = text.length();
+		if (chars == null || chars.length < length) {
+			chars = new char[Math.max(length, FRAME_CAPACITY)];
+			charView = CharBuffer.wrap(chars);
 		}
-		str.append(NEW_LINE);
-		return str.toString();
+		int maxBytes = (int) Math.ceil(chars.length * (double) encoder.maxBytesPerChar());
+		if (bytes == null || bytes.capacity() < maxBytes) {
+			bytes = ByteBuffer.allocate(maxBytes);
+		}
+
+		text.getChars(0, length, chars, 0);
+		charView.clear().limit(length);
+		bytes.clear();
+		encoder.reset();
+		encoder.encode(charView, bytes, true);
+		encoder.flush(bytes);
+
+		out.write(bytes.array(), 0, bytes.position());
+		out.flush();
+	}
+
+	// Numeración de columnas empezando en firstCol, se calcula la primera vez que se usa
+	private static String colLine(int firstCol) {
+		int key = firstCol % NAME_CYCLE;
+		if (COL_LINE[key] == null) {
+			StringBuilder str = new StringBuilder();
+			str.append(LATERAL_TAB + SPACE);
+
+			for (int col = firstCol; col < firstCol + VIEW_COLS; col++) {
+				str.append(MyStringUtils.center( getColName(col), CELL_SIZE));
+			}
+			str.append(NEW_LINE);
+			COL_LINE[key] = str.toString();
+		}
+		return COL_LINE[key];
 	}
 	
 	private String endMessage() {
@@ -120,7 +250,17 @@ public class ConsoleView extends GameView {
 		return sb.toString();
 	}
 
-	protected String consoleCell(String celStr) {
+	protected final String consoleCell(String celStr) {
+		String consoleStr = cellCache.get(celStr);
+		if (consoleStr == null) {
+			consoleStr = formatCell(celStr);
+			cellCache.put(celStr, consoleStr);
+		}
+		return consoleStr;
+	}
+
+	// Texto de una casilla tal y como se pinta; consoleCell lo guarda
+	protected String formatCell(String celStr) {
 		return MyStringUtils.center(celStr, CELL_SIZE);
 	}
 	
@@ -131,7 +271,7 @@ public class ConsoleView extends GameView {
 
 	@Override
 	public void showGame() {
-		System.out.println(this.toString());
+		write(buildFrame().append(NEW_LINE));
 	}
 
 	@Override
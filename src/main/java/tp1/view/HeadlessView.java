@@ -0,0 +1,53 @@
+package tp1.view;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+
+import tp1.logic.GameStatus;
+
+/**
+ * Vista sin tablero para partidas por lotes.
+ * Lee los comandos de un fichero de script, no pinta nada durante la partida
+ * y al terminar solo muestra un resumen (resultado, tiempo, puntos y vidas).
+ * Si el script se acaba antes que la partida, se envía un exit.
+ */
+public class HeadlessView extends NullView {
+
+	private BufferedReader script;
+
+	public HeadlessView(GameStatus game, String scriptFile) throws FileNotFoundException {
+		super(game);
+		this.script = new BufferedReader(new FileReader(scriptFile));
+	}
+
+	@Override
+	public void showEndMessage() {
+		System.out.println(Messages.HEADLESS_SUMMARY.formatted(outcome(),
+				game.remainingTime(), game.points(), game.numLives()));
+		try {
+			script.close();
+		} catch (IOException ignore) {} //ignoramos error
+	}
+
+	@Override
+	public String[] getPrompt() {
+		String line = null;
+		try {
+			line = script.readLine();
+		} catch (IOException e) {
+			line = null;
+		}
+		if (line == null) {
+			return EXIT_WORDS;
+		}
+		return line.trim().split("\\s+");
+	}
+
+	private String outcome() {
+		if (game.playerWins()) return Messages.MARIO_WINS;
+		if (game.playerLoses()) return Messages.GAME_OVER;
+		return Messages.PLAYER_QUITS;
+	}
+}
@@ -0,0 +1,119 @@
+package tp1.view;
+
+import tp1.logic.Game;
+
+/**
+ * Vista en color que solo repinta lo que cambia.
+ * El primer frame (y cualquiera tras un mensaje o error, que pueden hacer
+ * scroll, o tras moverse la cámara, que cambia la numeración) se pinta entero
+ * desde la esquina de la pantalla; en los siguientes
+ * se recuerdan las casillas y las líneas de estado del frame anterior y solo
+ * se mandan, con posicionamiento de cursor ANSI, las que han cambiado.
+ */
+public class IncrementalConsoleView extends ConsoleColorsView {
+
+	// Posición del tablero en pantalla (filas y columnas desde 1), según ConsoleView.toString:
+	// 3 líneas de estado, una en blanco, numeración de columnas y borde superior
+	private static final int FIRST_BOARD_LINE = 7;
+	private static final int FIRST_CELL_COLUMN = LATERAL_TAB_SIZE + 2;
+	// Tras el borde inferior, la numeración y la línea en blanco del println
+	private static final int PROMPT_LINE = FIRST_BOARD_LINE + VIEW_ROWS + 3;
+
+	private String[] lastCells; // casillas de la ventana, no del mundo
+	private int lastFirstRow;
+	private int lastFirstCol;
+	private int lastTime;
+	private int lastPoints;
+	private int lastLives;
+	private boolean fullRedraw;
+	private final StringBuilder screen; // lo que se manda en cada showGame, reutilizado
+
+	public IncrementalConsoleView(Game game) {
+		super(game);
+		this.lastCells = new String[VIEW_ROWS * VIEW_COLS];
+		this.screen = new StringBuilder();
+		this.fullRedraw = true;
+	}
+
+	@Override
+	public void showGame() {
+		StringBuilder out = screen;
+		out.setLength(0);
+		moveCamera();
+		if (firstRow != lastFirstRow || firstCol != lastFirstCol) {
+			fullRedraw = true;
+		}
+		if (fullRedraw) {
+			out.append(ConsoleColorsAnsiCodes.ANSI_CLEAR_SCREEN).append(buildFrame())
+				.append(Messages.LINE_SEPARATOR);
+			rememberFrame();
+			fullRedraw = false;
+		} else {
+			appendChanges(out);
+			appendCursorTo(out, PROMPT_LINE, 1).append(ConsoleColorsAnsiCodes.ANSI_CLEAR_BELOW);
+		}
+		write(out);
+	}
+
+	// Los mensajes pueden desplazar la pantalla: el siguiente frame va entero
+	@Override
+	public void showError(String message) {
+		super.showError(message);
+		fullRedraw = true;
+	}
+
+	@Override
+	public void showMessage(String message) {
+		super.showMessage(message);
+		fullRedraw = true;
+	}
+
+	// Justo después de buildFrame: cells tiene las casillas que se acaban de pintar
+	private void rememberFrame() {
+		System.arraycopy(cells, 0, lastCells, 0, cells.length);
+		lastFirstRow = firstRow;
+		lastFirstCol = firstCol;
+		lastTime = game.remainingTime();
+		lastPoints = game.points();
+		lastLives = game.numLives();
+	}
+
+	private void appendChanges(StringBuilder out) {
+		if (game.remainingTime() != lastTime) {
+			lastTime = game.remainingTime();
+			appendStatusLine(out, 1, Messages.REMAINING_TIME_LABEL).append(lastTime);
+		}
+		if (game.points() != lastPoints) {
+			lastPoints = game.points();
+			appendStatusLine(out, 2, Messages.POINTS_LABEL).append(lastPoints);
+		}
+		if (game.numLives() != lastLives) {
+			lastLives = game.numLives();
+			appendStatusLine(out, 3, Messages.NUM_LIVES_LABEL).append(lastLives);
+		}
+
+		game.fillFrame(firstRow, firstCol, VIEW_ROWS, VIEW_COLS, cells);
+		for (int row = 0; row < VIEW_ROWS; row++) {
+			for (int col = 0; col < VIEW_COLS; col++) {
+				int i = row * VIEW_COLS + col;
+				String cell = cells[i];
+				if (!cell.equals(lastCells[i])) {
+					lastCells[i] = cell;
+					appendCursorTo(out, FIRST_BOARD_LINE + row, FIRST_CELL_COLUMN + col * CELL_SIZE)
+						.append(consoleCell(cell));
+				}
+			}
+		}
+	}
+
+	// Borra la línea y deja la etiqueta; el número lo pone quien llama
+	private static StringBuilder appendStatusLine(StringBuilder out, int line, String label) {
+		return appendCursorTo(out, line, 1).append(ConsoleColorsAnsiCodes.ANSI_CLEAR_LINE).append(label);
+	}
+
+	// ESC[fila;columnaH, con los números añadidos tal cual (sin formatted)
+	private static StringBuilder appendCursorTo(StringBuilder out, int line, int column) {
+		return out.append(ConsoleColorsAnsiCodes.ANSI_CSI).append(line).append(';').append(column)
+			.append(ConsoleColorsAnsiCodes.ANSI_CURSOR_TO_END);
+	}
+}
@@ -8,7 +8,7 @@ public class Messages {
 
 	public static final String GAME_NAME = "MarioBross";
 
-	public static final String USAGE = "Usage: %s [<level>]".formatted(GAME_NAME);
+	public static final String USAGE = "Usage: %s [<level>] [--incremental | --headless --script <file>] [--journal <file>] [--autosave <file>] | --replay <file>".formatted(GAME_NAME);
 
 	public static final String WELCOME = String.format("%s %s%n", GAME_NAME, VERSION);
 
@@ -17,6 +17,23 @@ public class Messages {
 
 	public static final String LEVEL_NOT_A_NUMBER_ERROR = String.format("%s: %%s", LEVEL_NOT_A_NUMBER);
 
+	// HEADLESS MODE
+	public static final String HEADLESS_OPTION = "--headless";
+	public static final String INCREMENTAL_OPTION = "--incremental";
+	public static final String SCRIPT_OPTION = "--script";
+	public static final String SCRIPT_NOT_FOUND = "Unable to read script file: %s";
+	public static final String HEADLESS_SUMMARY = "Outcome: %s%nTime: %s%nPoints: %s%nLives: %s";
+
+	// INPUT JOURNAL
+	public static final String JOURNAL_OPTION = "--journal";
+	public static final String REPLAY_OPTION = "--replay";
+	public static final String JOURNAL_ERROR = "Unable to write input journal: %s";
+	public static final String REPLAY_ERROR = "Unable to read input journal: %s";
+
+	// AUTOSAVE
+	public static final String AUTOSAVE_OPTION = "--autosave";
+	public static final String AUTOSAVE_ERROR = "Unable to autosave: %s";
+
 	public static final String PROMPT = "Command > ";
 
 	public static final String DEBUG = "[DEBUG] Executing: %s%n";
@@ -25,9 +42,14 @@ public class Messages {
 	// GAME STATUS
 	public static final String NUMBER_OF_CYCLES = "Number of cycles: %s";
 
-	public static final String REMAINING_TIME = "Time: %s";
-	public static final String POINTS = "Points: %s";
-	public static final String NUM_LIVES = "Lives: %s";
+	// Las vistas ponen el número detrás de la etiqueta sin pasar por formatted
+	public static final String REMAINING_TIME_LABEL = "Time: ";
+	public static final String POINTS_LABEL = "Points: ";
+	public static final String NUM_LIVES_LABEL = "Lives: ";
+
+	public static final String REMAINING_TIME = REMAINING_TIME_LABEL + "%s";
+	public static final String POINTS = POINTS_LABEL + "%s";
+	public static final String NUM_LIVES = NUM_LIVES_LABEL + "%s";
 
 	// GAME END MESSAGE
 	public static final String GAME_OVER = "Game over";
@@ -57,6 +79,7 @@ public class Messages {
 	public static final String INVALID_COMMAND = "Invalid command: %s";
 	public static final String INVALID_COMMAND_PARAMETERS = "Invalid command parameters";
 	public static final String ERROR_COMMAND_EXECUTE = "Command execute problem";
+	public static final String GAME_SAVED = "Game saved to file: %s";
 	public static final String ERROR_ADD_OBJECT = "Error while adding object to the game: %s";
 
 	
@@ -113,8 +136,9 @@ public class Messages {
 
 	public static final String COMMAND_SAVE_NAME = "save";
     public static final String COMMAND_SAVE_SHORTCUT = "s";
-    public static final String COMMAND_SAVE_DETAILS = "[s]ave <fileName>";
-    public static final String COMMAND_SAVE_HELP = "save the actual configuration in text file <fileName>";
+    public static final String COMMAND_SAVE_DETAILS = "[s]ave [-b] <fileName>";
+    public static final String COMMAND_SAVE_HELP = "save the actual configuration in text file <fileName> (binary with -b or a .bin name)";
+    public static final String COMMAND_SAVE_BINARY_FLAG = "-b";
 
     
     //LOAD
@@ -124,6 +148,13 @@ public class Messages {
     public static final String COMMAND_LOAD_DETAILS  = "[l]oad <fileName>";
     public static final String COMMAND_LOAD_HELP     = "load the game configuration from text file <fileName>";
 
+    // UNDO
+    public static final String COMMAND_UNDO_NAME = "undo";
+    public static final String COMMAND_UNDO_SHORTCUT = "o";
+    public static final String COMMAND_UNDO_DETAILS = "und[o] [numCycles]";
+    public static final String COMMAND_UNDO_HELP = "go back numCycles game cycles (1 by default, only the last 64 are kept)";
+    public static final String NOTHING_TO_UNDO = "Nothing to undo";
+
 //Symbols
 	public static final String EMPTY = "";
 	public static final String LAND = MyStringUtils.repeat("▓",ConsoleView.CELL_SIZE);
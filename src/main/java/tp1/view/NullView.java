@@ -0,0 +1,41 @@
+package tp1.view;
+
+import tp1.logic.GameStatus;
+
+/**
+ * Vista que no muestra nada, para ejecutar partidas sin consola.
+ * Si se le pide un comando devuelve exit.
+ */
+public class NullView extends GameView {
+
+	protected static final String[] EXIT_WORDS = { Messages.COMMAND_EXIT_NAME };
+
+	public NullView(GameStatus game) {
+		super(game);
+	}
+
+	@Override
+	public void showWelcome() {
+	}
+
+	@Override
+	public void showGame() {
+	}
+
+	@Override
+	public void showEndMessage() {
+	}
+
+	@Override
+	public void showError(String message) {
+	}
+
+	@Override
+	public void showMessage(String message) {
+	}
+
+	@Override
+	public String[] getPrompt() {
+		return EXIT_WORDS;
+	}
+}
@@ -0,0 +1,77 @@
+package tp1;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+// Comprueba el cableado del perfil jmh sin necesitar sus dependencias
+public class BenchmarkProfileTest {
+
+  private static final String[] BENCHMARKS = { "CommandParseBenchmark", "GameUpdateBenchmark",
+      "SaveLoadBenchmark", "ViewBenchmark" };
+
+  private static Element profile;
+
+  @BeforeAll
+  public static void loadProfile() throws Exception {
+    Document pom = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(Path.of("pom.xml").toFile());
+    NodeList profiles = pom.getElementsByTagName("profile");
+    for (int i = 0; i < profiles.getLength(); i++) {
+      Element p = (Element) profiles.item(i);
+      if ("jmh".equals(text(p, "id")))
+        profile = p;
+    }
+    assertNotNull(profile, "falta el perfil jmh en pom.xml");
+  }
+
+  @Test
+  public void profileDependsOnJmh() throws Exception {
+    assertTrue(texts("artifactId").contains("jmh-core"));
+    assertTrue(texts("artifactId").contains("jmh-generator-annprocess"));
+    assertEquals("1.37", text(profile, "jmh.version"));
+  }
+
+  @Test
+  public void profileAddsTheBenchmarkSources() throws Exception {
+    assertEquals("src/jmh/java", text(profile, "source"));
+    for (String name : BENCHMARKS)
+      assertTrue(Files.exists(Path.of("src/jmh/java/tp1/bench", name + ".java")), name);
+  }
+
+  @Test
+  public void profileRunsTheAnnotationProcessor() throws Exception {
+    Element paths = (Element) profile.getElementsByTagName("annotationProcessorPaths").item(0);
+    assertNotNull(paths);
+    assertEquals("jmh-generator-annprocess", text(paths, "artifactId"));
+  }
+
+  @Test
+  public void shadedJarStartsJmh() throws Exception {
+    assertEquals("benchmarks", text(profile, "finalName"));
+    assertEquals("org.openjdk.jmh.Main", text(profile, "mainClass"));
+  }
+
+  private static String text(Element parent, String tag) {
+    NodeList nodes = parent.getElementsByTagName(tag);
+    return nodes.getLength() == 0 ? null : nodes.item(0).getTextContent().trim();
+  }
+
+  private static String texts(String tag) {
+    StringBuilder sb = new StringBuilder();
+    NodeList nodes = profile.getElementsByTagName(tag);
+    for (int i = 0; i < nodes.getLength(); i++)
+      sb.append(nodes.item(i).getTextContent().trim()).append('\n');
+    return sb.toString();
+  }
+}
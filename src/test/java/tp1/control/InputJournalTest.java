@@ -0,0 +1,218 @@
+package tp1.control;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.Main;
+import tp1.control.SimulationResult.Outcome;
+import tp1.control.commands.CommandGenerator;
+import tp1.exceptions.CommandException;
+import tp1.logic.Game;
+import tp1.view.NullView;
+
+public class InputJournalTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void recordedCommandsReadBackInOrder() throws Exception {
+    Path file = dir.resolve("game.jnl");
+    String longLine = "action" + " right".repeat(20_000); // más de 64 KB
+    try (InputJournal journal = new InputJournal(file.toString(), 1)) {
+      journal.record(0, new String[] { "action", "r", "r" });
+      journal.record(0, longLine.split(" "));
+      journal.record(1, new String[] { "" });
+      journal.record(2, new String[] { "exit" });
+    }
+    SimulationJob job = InputJournal.read(file.toString());
+    assertEquals(1, job.getLevel());
+    assertEquals(List.of("action r r", longLine, "", "exit"), job.getCommands());
+    assertArrayEquals(new int[] { 0, 0, 1, 2 }, job.getCycles());
+  }
+
+  @Test
+  public void tornLastRecordIsIgnored() throws Exception {
+    Path file = dir.resolve("game.jnl");
+    try (InputJournal journal = new InputJournal(file.toString(), 0)) {
+      journal.record(0, new String[] { "update" });
+      journal.record(1, new String[] { "action", "left" });
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      raf.setLength(raf.length() - 3);
+    }
+    assertEquals(List.of("update"), InputJournal.read(file.toString()).getCommands());
+  }
+
+  @Test
+  public void otherFilesAreRejected() throws Exception {
+    Path file = dir.resolve("notes.txt");
+    Files.writeString(file, "update\n");
+    assertThrows(IOException.class, () -> InputJournal.read(file.toString()));
+  }
+
+  @Test
+  public void readsVersion1Journals() throws Exception {
+    String file = dir.resolve("old.jnl").toString();
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+      out.writeInt(0x4D4A4E31); // "MJN1"
+      out.writeInt(2);
+      out.writeInt(0);
+      out.writeUTF("a r");
+    }
+    SimulationJob job = InputJournal.read(file);
+    assertEquals(2, job.getLevel());
+    assertEquals(List.of("a r"), job.getCommands());
+  }
+
+  @Test
+  public void replayPrintsTheSameSummaryAsTheRecordedGame() throws Exception {
+    Path script = dir.resolve("script.txt");
+    Files.writeString(script, "action r r\nupdate\nfoo\naction r\nupdate\nupdate\n");
+    Path journal = dir.resolve("game.jnl");
+    String played = runMain("1", "--headless", "--script", script.toString(), "--journal", journal.toString());
+    String replayed = runMain("--replay", journal.toString());
+    // El resultado se nombra distinto (mensaje frente a Outcome); el resto es igual
+    assertEquals(played.substring(played.indexOf('\n')), replayed.substring(replayed.indexOf('\n')));
+    assertEquals("Outcome: EXIT", replayed.lines().findFirst().get());
+  }
+
+  @Test
+  public void replayMatchesRecordedGame() throws Exception {
+    Path saved = dir.resolve("saved.txt");
+    List<String> commands = List.of("a r r", "u", "save " + saved, "u", "u", "undo 2",
+        "a u", "load " + saved, "u", "a l", "u");
+    String file = dir.resolve("game.jnl").toString();
+
+    // Partida grabada como en Controller: el comando y el ciclo en que llega
+    Game game = new Game(1);
+    game.setUndoHistory(true);
+    NullView view = new NullView(game);
+    int errors = 0;
+    try (InputJournal journal = new InputJournal(file, 1)) {
+      for (String line : commands) {
+        String[] words = line.split(" ");
+        journal.record(game.cycle(), words);
+        try {
+          CommandGenerator.parse(words).execute(game, view);
+        } catch (CommandException e) {
+          errors++; // igual que en la partida, el error no cambia nada
+        }
+      }
+      game.awaitSaves();
+      journal.finish(errors, game.cycle(), game.toString());
+    }
+    Files.delete(saved);
+
+    SimulationResult result = SimulationEngine.runOne(InputJournal.read(file));
+    assertEquals(Outcome.UNFINISHED, result.getOutcome());
+    assertEquals(0, result.getCommandErrors());
+    assertEquals(game.points(), result.getPoints());
+    assertEquals(game.numLives(), result.getLives());
+    assertEquals(game.remainingTime(), result.getRemainingTime());
+    // save no toca los ficheros reales al reproducir
+    assertFalse(Files.exists(saved));
+  }
+
+  @Test
+  public void replayReadsRealFilesAndWritesOnlyToTheSandbox() throws Exception {
+    Path level = dir.resolve("level.txt");
+    String levelText = "board 6 8\n100 0 3\n(4,1) Mario RIGHT SMALL\n(5,1) Land\n(5,2) Land\n(4,5) Goomba\n";
+    Files.writeString(level, levelText);
+    Path saved = dir.resolve("saved.txt");
+    Path journal = record("load " + level, "u", "save " + saved, "u", "load " + saved, "u", "u");
+    Files.delete(saved);
+
+    SimulationResult result = SimulationEngine.runOne(InputJournal.read(journal.toString()));
+    assertEquals(Outcome.EXIT, result.getOutcome());
+    assertEquals(0, result.getCommandErrors());
+    assertFalse(Files.exists(saved));
+    assertEquals(levelText, Files.readString(level));
+  }
+
+  @Test
+  public void savesThatFailedStillFailOnReplay() throws Exception {
+    Path lost = dir.resolve("missing").resolve("saved.txt");
+    Path journal = record("save " + lost, "u", "load " + lost, "u");
+
+    SimulationResult result = SimulationEngine.runOne(InputJournal.read(journal.toString()));
+    assertEquals(Outcome.EXIT, result.getOutcome());
+    assertEquals(1, result.getCommandErrors());
+  }
+
+  @Test
+  public void replayDivergesWhenALoadedFileChanged() throws Exception {
+    Path level = dir.resolve("level.txt");
+    Files.writeString(level, "board 6 8\n100 0 3\n(4,1) Mario RIGHT SMALL\n(5,1) Land\n(5,2) Land\n");
+    Path journal = record("load " + level, "u", "u");
+    Files.writeString(level, "board 6 8\n100 0 3\n(4,1) Mario RIGHT SMALL\n(5,1) Land\n");
+
+    SimulationResult result = SimulationEngine.runOne(InputJournal.read(journal.toString()));
+    assertEquals(Outcome.DIVERGED, result.getOutcome());
+  }
+
+  @Test
+  public void replayDivergesWhenOtherCommandsFail() throws Exception {
+    // Al grabar el fichero no existe; al reproducir sí, con la misma partida
+    Path level = dir.resolve("level.txt");
+    Path journal = record("load " + level, "u");
+    Game start = new Game(1);
+    start.save(level.toString());
+    start.awaitSaves();
+
+    SimulationJob job = InputJournal.read(journal.toString());
+    assertEquals(1, job.getCommandErrors());
+    SimulationResult result = SimulationEngine.runOne(job);
+    assertEquals(0, result.getCommandErrors());
+    assertEquals(Outcome.DIVERGED, result.getOutcome());
+    // Solo cambia el número de errores: el estado final es el mismo
+    SimulationJob sameErrors = new SimulationJob(job.getLevel(), job.getCommands(), job.getCycles(),
+        0, job.getFinalCycle(), job.getFinalState());
+    assertEquals(Outcome.EXIT, SimulationEngine.runOne(sameErrors).getOutcome());
+  }
+
+  @Test
+  public void replayStopsWhenCyclesDiverge() throws Exception {
+    SimulationJob job = new SimulationJob(1, List.of("u", "u", "u"), new int[] { 0, 1, 5 });
+    SimulationResult result = SimulationEngine.runOne(job);
+    assertEquals(Outcome.DIVERGED, result.getOutcome());
+    assertEquals(2, result.getCommandsRun());
+  }
+
+  // Graba con Main una partida del nivel 1 que ejecuta commands y sale
+  private Path record(String... commands) throws Exception {
+    Path script = dir.resolve("script.txt");
+    Files.writeString(script, String.join("\n", commands) + "\n");
+    Path journal = dir.resolve("game.jnl");
+    runMain("1", "--headless", "--script", script.toString(), "--journal", journal.toString());
+    return journal;
+  }
+
+  private static String runMain(String... args) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PrintStream oldOut = System.out;
+    System.setOut(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+    try {
+      Main.main(args);
+    } finally {
+      System.setOut(oldOut);
+    }
+    return bytes.toString(StandardCharsets.UTF_8);
+  }
+}
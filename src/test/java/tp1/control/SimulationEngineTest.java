@@ -0,0 +1,59 @@
+package tp1.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tp1.control.SimulationResult.Outcome;
+import tp1.logic.Game;
+
+public class SimulationEngineTest {
+
+  @Test
+  public void parallelRunMatchesSequentialRunsInJobOrder() throws Exception {
+    List<SimulationJob> jobs = new ArrayList<>();
+    for (int i = 0; i < 24; i++) {
+      List<String> commands = new ArrayList<>();
+      for (int j = 0; j < i; j++) {
+        commands.add(j % 3 == 0 ? "action r r" : "update");
+      }
+      jobs.add(new SimulationJob(i % 2, commands));
+    }
+
+    List<SimulationResult> results = new SimulationEngine(4).run(jobs);
+    assertEquals(jobs.size(), results.size());
+    for (int i = 0; i < jobs.size(); i++) {
+      SimulationResult expected = SimulationEngine.runOne(jobs.get(i));
+      SimulationResult actual = results.get(i);
+      assertEquals(jobs.get(i), actual.getJob());
+      assertEquals(expected.toString(), actual.toString());
+    }
+  }
+
+  @Test
+  public void resultMatchesTheSameCommandsOnAGame() throws Exception {
+    SimulationResult result = SimulationEngine.runOne(new SimulationJob(1, List.of("update", "update", "update")));
+    Game game = new Game(1);
+    for (int i = 0; i < 3; i++) {
+      game.update();
+    }
+    assertEquals(Outcome.UNFINISHED, result.getOutcome());
+    assertEquals(game.points(), result.getPoints());
+    assertEquals(game.numLives(), result.getLives());
+    assertEquals(game.remainingTime(), result.getRemainingTime());
+    assertEquals(3, result.getCommandsRun());
+    assertEquals(0, result.getCommandErrors());
+  }
+
+  @Test
+  public void errorsAreCountedAndExitStopsTheGame() throws Exception {
+    SimulationResult result = SimulationEngine.runOne(
+        new SimulationJob(1, List.of("jump", "action", "exit", "update", "update")));
+    assertEquals(Outcome.EXIT, result.getOutcome());
+    assertEquals(3, result.getCommandsRun());
+    assertEquals(2, result.getCommandErrors());
+  }
+}
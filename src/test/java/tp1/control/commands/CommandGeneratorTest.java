@@ -0,0 +1,59 @@
+package tp1.control.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import tp1.exceptions.CommandParseException;
+import tp1.view.Messages;
+
+public class CommandGeneratorTest {
+
+  private static Command parse(String line) throws CommandParseException {
+    return CommandGenerator.parse(line.isEmpty() ? new String[] { "" } : line.split(" "));
+  }
+
+  // Nombre, atajo y mayúsculas dan el mismo comando
+  private static void assertParses(Class<?> type, String name, String shortcut, String args) throws Exception {
+    for (String word : new String[] { name, shortcut, name.toUpperCase(Locale.ROOT), shortcut.toUpperCase(Locale.ROOT) }) {
+      assertInstanceOf(type, parse(word + args), word + args);
+    }
+  }
+
+  @Test
+  public void namesAndShortcutsFindTheirCommand() throws Exception {
+    assertParses(UpdateCommand.class, Messages.COMMAND_UPDATE_NAME, Messages.COMMAND_UPDATE_SHORTCUT, "");
+    assertParses(ExitCommand.class, Messages.COMMAND_EXIT_NAME, Messages.COMMAND_EXIT_SHORTCUT, "");
+    assertParses(HelpCommand.class, Messages.COMMAND_HELP_NAME, Messages.COMMAND_HELP_SHORTCUT, "");
+    assertParses(ResetCommand.class, Messages.COMMAND_RESET_NAME, Messages.COMMAND_RESET_SHORTCUT, "");
+    assertParses(ActionCommand.class, Messages.COMMAND_ACTION_NAME, Messages.COMMAND_ACTION_SHORTCUT, " r");
+    assertParses(AddObjectCommand.class, Messages.COMMAND_ADDOBJECT_NAME, Messages.COMMAND_ADDOBJECT_SHORTCUT,
+        " (1,1) Land");
+    assertParses(SaveCommand.class, Messages.COMMAND_SAVE_NAME, Messages.COMMAND_SAVE_SHORTCUT, " game.txt");
+    assertParses(LoadCommand.class, Messages.COMMAND_LOAD_NAME, Messages.COMMAND_LOAD_SHORTCUT, " game.txt");
+    assertParses(UndoCommand.class, Messages.COMMAND_UNDO_NAME, Messages.COMMAND_UNDO_SHORTCUT, "");
+    // Una línea vacía es update
+    assertInstanceOf(UpdateCommand.class, parse(""));
+  }
+
+  @Test
+  public void unknownCommandsAreParseErrors() {
+    CommandParseException e = assertThrows(CommandParseException.class, () -> parse("jump r"));
+    assertEquals(Messages.UNKNOWN_COMMAND.formatted("jump"), e.getMessage());
+  }
+
+  @Test
+  public void helpListsEveryCommandOnceInOrder() {
+    StringBuilder expected = new StringBuilder(Messages.HELP_AVAILABLE_COMMANDS).append(Messages.LINE_SEPARATOR);
+    for (Command c : new Command[] { new AddObjectCommand(), new ActionCommand(), new UpdateCommand(),
+        new ResetCommand(), new HelpCommand(), new ExitCommand(), new SaveCommand(), new LoadCommand(),
+        new UndoCommand() }) {
+      expected.append(c.helpText()).append(Messages.LINE_SEPARATOR);
+    }
+    assertEquals(expected.toString(), CommandGenerator.commandHelp());
+  }
+}
@@ -0,0 +1,121 @@
+package tp1.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.exceptions.GameLoadException;
+
+public class AutosaveLogTest {
+
+  private static final int TICKS = 5;
+
+  @TempDir
+  Path dir;
+
+  private Path log;
+  // Partida guardada en texto y tamaño del diario tras cada autoguardado
+  private final List<String> states = new ArrayList<>();
+  private final List<Long> sizes = new ArrayList<>();
+
+  // Un autoguardado por ciclo: un punto de control y luego entradas con los
+  // cambios (el Goomba que va y viene entre los muros) o con todo (el que cae
+  // fuera del tablero por la columna 10)
+  @BeforeEach
+  public void writeLog() throws Exception {
+    Path level = dir.resolve("level.txt");
+    StringBuilder text = new StringBuilder("board 6 11\n100 0 3\n(4,0) Mario STOP SMALL\n");
+    for (int col = 0; col < 10; col++) {
+      text.append("(5,").append(col).append(") Land\n");
+    }
+    text.append("(4,3) Land\n(4,9) Land\n(4,5) Goomba RIGHT\n(2,10) Goomba LEFT\n");
+    Files.writeString(level, text);
+
+    log = dir.resolve("game.auto");
+    Game game = new Game(0);
+    game.load(level.toString());
+    game.setAutosave(log.toString(), 1, 100);
+    for (int i = 0; i < TICKS; i++) {
+      game.update();
+      game.awaitSaves();
+      states.add(saved(game));
+      sizes.add(Files.size(log));
+    }
+    game.setAutosave(null, 0, 0);
+    game.awaitSaves();
+  }
+
+  private String saved(Game game) throws Exception {
+    Path file = dir.resolve("state.txt");
+    game.save(file.toString());
+    game.awaitSaves();
+    return Files.readString(file);
+  }
+
+  private String recovered() throws Exception {
+    Game game = new Game(0);
+    game.load(log.toString());
+    return saved(game);
+  }
+
+  @Test
+  public void recoversLastAutosave() throws Exception {
+    // Un solo punto de control: el diario solo crece
+    for (int i = 1; i < TICKS; i++) {
+      assertTrue(sizes.get(i) > sizes.get(i - 1), sizes.toString());
+    }
+    assertEquals(states.get(TICKS - 1), recovered());
+  }
+
+  @Test
+  public void tornLastEntryIsIgnored() throws Exception {
+    try (RandomAccessFile raf = new RandomAccessFile(log.toFile(), "rw")) {
+      raf.setLength(raf.length() - 3);
+    }
+    assertEquals(states.get(TICKS - 2), recovered());
+  }
+
+  @Test
+  public void corruptEntryStopsRecovery() throws Exception {
+    // Se daña la tercera entrada: se queda en la segunda aunque las
+    // siguientes estén bien
+    flipByteAt(sizes.get(1) + 10);
+    assertEquals(states.get(1), recovered());
+  }
+
+  @Test
+  public void corruptLastEntryFallsBackToCheckpoint() throws Exception {
+    try (RandomAccessFile raf = new RandomAccessFile(log.toFile(), "rw")) {
+      raf.setLength(sizes.get(1));
+    }
+    flipByteAt(sizes.get(1) - 1);
+    assertEquals(states.get(0), recovered());
+  }
+
+  @Test
+  public void damagedCheckpointIsALoadError() throws Exception {
+    flipByteAt(12);
+    Game game = new Game(0);
+    assertThrows(GameLoadException.class, () -> game.load(log.toString()));
+    assertEquals(Game.DIM_Y, game.getRows());
+  }
+
+  private void flipByteAt(long offset) throws Exception {
+    try (RandomAccessFile raf = new RandomAccessFile(log.toFile(), "rw")) {
+      raf.seek(offset);
+      int b = raf.read();
+      raf.seek(offset);
+      raf.write(b ^ 0xFF);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package tp1.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.exceptions.GameLoadException;
+import tp1.logic.gameobjects.Land;
+import tp1.logic.gameobjects.Mario;
+
+public class BinaryGameConfigurationTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void binarySaveLoadsBackTheSameGame() throws Exception {
+    Path level = dir.resolve("level.txt");
+    Files.writeString(level, "50 700 2\n(3,25) Mario LEFT SMALL\n"
+        + "(4,25) Land\n(14,2) Land\n(10,10) Mushroom\n(7,7) Box EMPTY\n(7,9) Box\n");
+    Game game = new Game(0);
+    game.load(level.toString());
+    game.update();
+
+    Path bin = dir.resolve("game.bin");
+    Path before = dir.resolve("before.txt");
+    game.saveBinary(bin.toString());
+    game.save(before.toString());
+    game.awaitSaves();
+    assertTrue(BinaryGameConfiguration.isBinaryFile(bin.toString()));
+
+    Game loaded = new Game(1);
+    loaded.load(bin.toString());
+    Path after = dir.resolve("after.txt");
+    loaded.save(after.toString());
+    loaded.awaitSaves();
+    assertEquals(Files.readString(before), Files.readString(after));
+  }
+
+  @Test
+  public void version2KeepsTheBoardSize() throws Exception {
+    Path level = dir.resolve("level.txt");
+    Files.writeString(level, "board 20 40\n50 700 2\n(3,35) Mario LEFT SMALL\n"
+        + "(4,35) Land\n(19,2) Land\n(10,10) Mushroom\n");
+    Game game = new Game(0);
+    game.load(level.toString());
+    game.update();
+
+    Path bin = dir.resolve("game.bin");
+    Path before = dir.resolve("before.txt");
+    game.saveBinary(bin.toString());
+    game.save(before.toString());
+    game.awaitSaves();
+
+    Game loaded = new Game(1);
+    loaded.load(bin.toString());
+    assertEquals(20, loaded.getRows());
+    assertEquals(40, loaded.getCols());
+    Path after = dir.resolve("after.txt");
+    loaded.save(after.toString());
+    loaded.awaitSaves();
+    assertEquals(Files.readString(before), Files.readString(after));
+  }
+
+  @Test
+  public void readsVersion1Files() throws Exception {
+    Path bin = dir.resolve("old.bin");
+    Game game = new Game(0);
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(bin.toFile()))) {
+      out.writeInt(0x4D415231); // "MAR1"
+      out.writeShort(1);        // sin filas ni columnas
+      out.writeInt(80);
+      out.writeInt(300);
+      out.writeInt(1);
+      out.writeInt(2);
+      Mario mario = new Mario(game, Position.of(12, 4));
+      mario.setBig(false);
+      mario.writeRecord(out);
+      new Land(game, Position.of(13, 4)).writeRecord(out);
+    }
+
+    Game loaded = new Game(1);
+    loaded.load(bin.toString());
+    assertEquals(Game.DIM_Y, loaded.getRows());
+    assertEquals(Game.DIM_X, loaded.getCols());
+    assertEquals(80, loaded.remainingTime());
+    assertEquals(300, loaded.points());
+    assertEquals(1, loaded.numLives());
+    Path text = dir.resolve("old.txt");
+    loaded.save(text.toString());
+    loaded.awaitSaves();
+    List<String> lines = Files.readAllLines(text);
+    assertTrue(lines.contains("(12,4) Mario RIGHT SMALL"), lines.toString());
+    assertTrue(lines.contains("(13,4) Land"), lines.toString());
+  }
+
+  @Test
+  public void goombasKeepTheirDirection() throws Exception {
+    Game game = new Game(1);
+    for (int i = 0; i < 4; i++) {
+      game.update();
+    }
+    Path bin = dir.resolve("game.bin");
+    Path before = dir.resolve("before.txt");
+    game.saveBinary(bin.toString());
+    game.save(before.toString());
+    game.awaitSaves();
+
+    Game loaded = new Game(0);
+    loaded.load(bin.toString());
+    Path after = dir.resolve("after.txt");
+    loaded.save(after.toString());
+    loaded.awaitSaves();
+    assertEquals(Files.readString(before), Files.readString(after));
+  }
+
+  @Test
+  public void textFilesAreNotBinary() throws Exception {
+    Path text = dir.resolve("game.txt");
+    Game saved = new Game(1);
+    saved.save(text.toString());
+    saved.awaitSaves();
+    assertTrue(!BinaryGameConfiguration.isBinaryFile(text.toString()));
+    assertTrue(!BinaryGameConfiguration.isBinaryFile(dir.resolve("missing.bin").toString()));
+  }
+
+  @Test
+  public void unknownVersionIsALoadError() throws Exception {
+    Path bin = dir.resolve("future.bin");
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(bin.toFile()))) {
+      out.writeInt(0x4D415231); // "MAR1"
+      out.writeShort(99);
+    }
+    assertThrows(GameLoadException.class, () -> new Game(0).load(bin.toString()));
+  }
+
+  @Test
+  public void truncatedFileIsALoadError() throws Exception {
+    Path bin = dir.resolve("game.bin");
+    Game game = new Game(1);
+    game.saveBinary(bin.toString());
+    game.awaitSaves();
+    try (RandomAccessFile raf = new RandomAccessFile(bin.toFile(), "rw")) {
+      raf.setLength(raf.length() - 5); // corta el último registro
+    }
+
+    Game loaded = new Game(0);
+    Path before = dir.resolve("before.txt");
+    loaded.save(before.toString());
+    loaded.awaitSaves();
+    assertThrows(GameLoadException.class, () -> loaded.load(bin.toString()));
+    // La partida sigue como estaba
+    Path after = dir.resolve("after.txt");
+    loaded.save(after.toString());
+    loaded.awaitSaves();
+    List<String> lines = Files.readAllLines(after);
+    assertEquals(Files.readAllLines(before), lines);
+  }
+}
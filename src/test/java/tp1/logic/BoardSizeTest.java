@@ -0,0 +1,90 @@
+package tp1.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.exceptions.GameLoadException;
+import tp1.logic.gameobjects.Land;
+
+public class BoardSizeTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void boardHeaderSetsTheSizeAndIsSavedBack() throws Exception {
+    Path level = dir.resolve("level.txt");
+    Files.writeString(level, "board 300 500\n100 0 3\n(298,450) Mario RIGHT SMALL\n(299,450) Land\n");
+    Game game = new Game(0);
+    game.load(level.toString());
+    assertEquals(300, game.getRows());
+    assertEquals(500, game.getCols());
+    assertTrue(game.isInside(Position.of(299, 499)));
+    assertFalse(game.isInside(Position.of(300, 499)));
+    assertTrue(game.isSolid(Position.of(299, 450)));
+
+    game.update();
+    Path saved = dir.resolve("saved.txt");
+    game.save(saved.toString());
+    game.awaitSaves();
+    List<String> lines = Files.readAllLines(saved);
+    assertEquals("board 300 500", lines.get(0));
+    assertTrue(lines.contains("(298,451) Mario RIGHT SMALL"), lines.toString());
+  }
+
+  @Test
+  public void defaultBoardHasNoHeader() throws Exception {
+    Path saved = dir.resolve("saved.txt");
+    Game game = new Game(1);
+    game.save(saved.toString());
+    game.awaitSaves();
+    assertFalse(Files.readAllLines(saved).get(0).startsWith(Game.BOARD_HEADER));
+    assertFalse(game.isInside(Position.of(Game.DIM_Y, 0)));
+  }
+
+  @Test
+  public void invalidBoardSizesAreLoadErrors() throws Exception {
+    for (String header : List.of("board 0 10", "board 10 -1", "board 10", "board 40000 10", "board x 10")) {
+      Path level = dir.resolve("bad.txt");
+      Files.writeString(level, header + "\n100 0 3\n(1,1) Mario RIGHT SMALL\n");
+      assertThrows(GameLoadException.class, () -> new Game(0).load(level.toString()), header);
+    }
+  }
+
+  @Test
+  public void loadErrorsSayWhichSizesAreAllowed() throws Exception {
+    Path level = dir.resolve("bad.txt");
+    Files.writeString(level, "board 40000 10\n100 0 3\n(1,1) Mario RIGHT SMALL\n");
+    GameLoadException text = assertThrows(GameLoadException.class, () -> new Game(0).load(level.toString()));
+    assertTrue(text.getMessage().contains("40000 x 10"), text.getMessage());
+    assertTrue(text.getMessage().contains(Integer.toString(Cell.MAX_COORD)), text.getMessage());
+
+    Path bin = dir.resolve("bad.bin");
+    try (OutputStream out = Files.newOutputStream(bin)) {
+      BinaryGameConfiguration.write(out, 0, 10, 100, 0, 3, List.of());
+    }
+    GameLoadException binary = assertThrows(GameLoadException.class, () -> new Game(0).load(bin.toString()));
+    assertTrue(binary.getMessage().contains("0 x 10"), binary.getMessage());
+  }
+
+  @Test
+  public void containersRejectInvalidSizes() throws Exception {
+    int[][] sizes = { { 0, 5 }, { 5, 0 }, { -1, 5 }, { Cell.MAX_COORD + 1, 1 }, { 1, Cell.MAX_COORD + 1 } };
+    for (int[] size : sizes) {
+      IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+          () -> new GameObjectContainer(size[0], size[1]));
+      assertTrue(e.getMessage().contains(size[0] + " x " + size[1]), e.getMessage());
+    }
+    new GameObjectContainer(1, 1).add(new Land(new Game(-1), Position.of(0, 0)));
+  }
+}
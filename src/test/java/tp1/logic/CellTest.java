@@ -0,0 +1,64 @@
+package tp1.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class CellTest {
+
+  @Test
+  public void packsNegativeRowsAndColumns() {
+    for (int row = -2; row <= Game.DIM_Y + 1; row++) {
+      for (int col = -2; col <= Game.DIM_X + 1; col++) {
+        int cell = Cell.of(row, col);
+        assertEquals(row, Cell.row(cell));
+        assertEquals(col, Cell.col(cell));
+      }
+    }
+  }
+
+  @Test
+  public void movesLikePosition() {
+    Position pos = Position.of(0, 0);
+    int cell = Cell.of(pos);
+    for (Action action : Action.values()) {
+      assertSame(pos.move(action), Cell.toPosition(Cell.move(cell, action)), action.name());
+    }
+    assertEquals(Cell.of(pos.right()), Cell.right(cell));
+    assertEquals(Cell.of(pos.left()), Cell.left(cell));
+    assertEquals(Cell.of(pos.up()), Cell.up(cell));
+    assertEquals(Cell.of(pos.down()), Cell.down(cell));
+    assertEquals(cell, Cell.move(cell, null));
+  }
+
+  @Test
+  public void insideFollowsTheBoardSize() {
+    for (int row = -1; row <= 20; row++) {
+      for (int col = -1; col <= 40; col++) {
+        boolean inside = row >= 0 && row < 20 && col >= 0 && col < 40;
+        assertEquals(inside, Cell.isInside(Cell.of(row, col), 20, 40));
+      }
+    }
+    assertEquals(true, Cell.isInside(Cell.of(Cell.MAX_COORD - 1, Cell.MAX_COORD - 1), Cell.MAX_COORD, Cell.MAX_COORD));
+  }
+
+  @Test
+  public void worldOverloadsMatchPositionVersions() {
+    Game game = new Game(1);
+    game.update();
+    for (int row = -1; row <= Game.DIM_Y; row++) {
+      for (int col = -1; col <= Game.DIM_X; col++) {
+        Position pos = Position.of(row, col);
+        int cell = Cell.of(row, col);
+        assertEquals(game.isInside(pos), game.isInside(cell));
+        assertEquals(game.isSolid(pos), game.isSolid(cell));
+        assertSame(game.getObjectAt(pos), game.getObjectAt(cell));
+      }
+    }
+    assertTrue(game.isSolid(Cell.of(13, 0)));
+    assertFalse(game.isInside(Cell.of(Game.DIM_Y, 0)));
+  }
+}
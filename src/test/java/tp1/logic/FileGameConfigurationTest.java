@@ -0,0 +1,75 @@
+package tp1.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.exceptions.GameLoadException;
+
+public class FileGameConfigurationTest {
+
+  @TempDir
+  Path dir;
+
+  // Guarda la partida en texto y devuelve el fichero
+  private String saved(Game game, String name) throws Exception {
+    Path file = dir.resolve(name);
+    game.save(file.toString());
+    game.awaitSaves();
+    return Files.readString(file);
+  }
+
+  @Test
+  public void defaultBoardRoundTripsWithoutHeader() throws Exception {
+    Game game = new Game(1);
+    game.update();
+    String text = saved(game, "first.txt");
+    assertFalse(text.startsWith(Game.BOARD_HEADER), text);
+
+    Game loaded = new Game(0);
+    loaded.load(dir.resolve("first.txt").toString());
+    assertEquals(Game.DIM_Y, loaded.getRows());
+    assertEquals(Game.DIM_X, loaded.getCols());
+    assertEquals(text, saved(loaded, "second.txt"));
+  }
+
+  @Test
+  public void otherBoardsRoundTripWithHeader() throws Exception {
+    Path level = dir.resolve("level.txt");
+    String text = "board 20 40\n50 700 2\n(3,35) Mario LEFT SMALL\n(4,35) Land\n(19,39) Land\n";
+    Files.writeString(level, text);
+    Game game = new Game(0);
+    game.load(level.toString());
+    assertEquals(20, game.getRows());
+    assertEquals(40, game.getCols());
+    assertEquals(Position.of(3, 35), game.marioPosition());
+    assertEquals(text, saved(game, "saved.txt"));
+  }
+
+  @Test
+  public void badHeaderIsALoadError() throws Exception {
+    Path level = dir.resolve("level.txt");
+    for (String text : new String[] { "board 0 5\n1 0 3\n(1,1) Mario\n", "board 6\n1 0 3\n(1,1) Mario\n",
+        "board 6 5\n" }) {
+      Files.writeString(level, text);
+      Game game = new Game(0);
+      assertThrows(GameLoadException.class, () -> game.load(level.toString()), text);
+      assertEquals(Game.DIM_Y, game.getRows());
+    }
+  }
+
+  @Test
+  public void loadErrorsGiveTheLine() throws Exception {
+    Path level = dir.resolve("level.txt");
+    Files.writeString(level, "board 6 5\n1 0 3\n(1,1) Mario\n(2,2) Dragon\n");
+    GameLoadException e = assertThrows(GameLoadException.class, () -> new Game(0).load(level.toString()));
+    assertTrue(e.getMessage().startsWith("Invalid object at line 4"), e.getMessage());
+  }
+}
@@ -0,0 +1,292 @@
+package tp1.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.logic.gameobjects.Goomba;
+import tp1.logic.gameobjects.Land;
+import tp1.logic.gameobjects.Mario;
+import tp1.view.Messages;
+
+public class GameObjectContainerTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void lookupsFindObjectsInTheirCell() {
+    Game game = new Game(0);
+    assertTrue(game.isSolid(Position.of(13, 0)));
+    assertFalse(game.isSolid(Position.of(12, 1)));
+    assertTrue(game.getObjectAt(Position.of(9, 2)) instanceof Land);
+    assertTrue(game.getObjectAt(Position.of(0, 19)) instanceof Goomba);
+    assertNull(game.getObjectAt(Position.of(3, 3)));
+  }
+
+  @Test
+  public void bigMarioCoversTheCellAbove() {
+    Game game = new Game(0);
+    assertTrue(game.getObjectAt(Position.of(11, 0)) instanceof Mario);
+    assertEquals(Messages.MARIO_RIGHT, game.positionToString(0, 11));
+    assertEquals(Messages.MARIO_RIGHT, game.positionToString(0, 12));
+  }
+
+  @Test
+  public void indexFollowsMovedObjects() {
+    Game game = new Game(0);
+    game.update();
+    // El Goomba de (0,19) cae una casilla y Mario avanza a la derecha
+    assertNull(game.getObjectAt(Position.of(0, 19)));
+    assertTrue(game.getObjectAt(Position.of(1, 19)) instanceof Goomba);
+    assertEquals(Messages.EMPTY, game.positionToString(0, 12));
+    assertTrue(game.getObjectAt(Position.of(12, 1)) instanceof Mario);
+  }
+
+  @Test
+  public void removeObjectAtClearsTheCell() {
+    Game game = new Game(0);
+    assertTrue(game.removeObjectAt(Position.of(9, 2)));
+    assertFalse(game.isSolid(Position.of(9, 2)));
+    assertEquals(Messages.EMPTY, game.positionToString(2, 9));
+    assertFalse(game.removeObjectAt(Position.of(9, 2)));
+  }
+
+  @Test
+  public void removeObjectAtRemovesEveryMatch() throws Exception {
+    Game game = new Game(-1);
+    GameObjectContainer board = new GameObjectContainer(6, 5);
+    board.add(new Goomba(game, Position.of(4, 1)));
+    board.add(new Goomba(game, Position.of(4, 1)));
+    board.add(new Land(game, Position.of(5, 1)));
+
+    assertTrue(board.removeObjectAt(Position.of(4, 1)));
+    assertNull(board.getObjectAt(Position.of(4, 1)));
+    assertEquals(1, board.getObjects().size());
+    assertFalse(board.removeObjectAt(Position.of(4, 1)));
+  }
+
+  @Test
+  public void removeObjectAtClearsSolidCell() throws Exception {
+    Game game = new Game(-1);
+    Position pos = Position.of(3, 3);
+    game.addObject(new Land(game, pos));
+    game.addObject(new Land(game, pos));
+    game.addObject(new Land(game, Position.of(3, 4)));
+    assertTrue(game.isSolid(pos));
+
+    assertTrue(game.removeObjectAt(pos));
+    assertFalse(game.isSolid(pos));
+    // La casilla de al lado, en el mismo trozo, sigue siendo sólida
+    assertTrue(game.isSolid(Position.of(3, 4)));
+  }
+
+  @Test
+  public void nonSolidObjectsDoNotMarkTheCell() throws Exception {
+    Game game = new Game(-1);
+    Position pos = Position.of(3, 3);
+    game.addObject(new Goomba(game, pos));
+    assertFalse(game.isSolid(pos));
+    game.addObject(new Land(game, pos));
+    assertTrue(game.isSolid(pos));
+    assertTrue(game.getObjectAt(pos) instanceof Goomba);
+  }
+
+  @Test
+  public void cellsListObjectsInInsertionOrder() throws Exception {
+    Game game = new Game(-1);
+    Goomba first = new Goomba(game, Position.of(3, 4));
+    game.addObject(first);
+    Land land = new Land(game, Position.of(3, 3));
+    game.addObject(land);
+    game.addObject(new Land(game, Position.of(4, 4)));
+    Position pos = Position.of(3, 3);
+    assertEquals(land, game.getObjectAt(pos));
+
+    // Quitamos el Land y el Goomba entra en la casilla: vuelve a ser el primero
+    game.removeObjectAt(pos);
+    Goomba second = new Goomba(game, pos);
+    game.addObject(second);
+    game.addObject(new Land(game, Position.of(4, 3)));
+    first.update();
+    assertEquals(pos, first.getPosition());
+    assertEquals(first, game.getObjectAt(pos));
+    assertTrue(first.getOrder() < second.getOrder());
+    assertEquals(Messages.GOOMBA + Messages.GOOMBA, game.positionToString(3, 3));
+  }
+
+  @Test
+  public void farObjectsDoNotInteract() throws Exception {
+    Game game = new Game(-1);
+    Mario mario = new Mario(game, Position.of(5, 5));
+    game.addObject(mario);
+    Goomba near = new Goomba(game, Position.of(5, 5));
+    Goomba far = new Goomba(game, Position.of(5, 9));
+    game.addObject(near);
+    game.addObject(far);
+    game.doInteractionsFrom(mario);
+    assertFalse(near.isAlive());
+    assertTrue(far.isAlive());
+  }
+
+  @Test
+  public void changesDuringUpdateApplyAtTheEndOfTheCycle() throws Exception {
+    Game game = new Game(-1);
+    GameObjectContainer container = new GameObjectContainer(Game.DIM_Y, Game.DIM_X);
+    int[] childUpdates = new int[1];
+    Goomba child = new Goomba(game, Position.of(2, 2)) {
+      @Override
+      public void update() {
+        childUpdates[0]++;
+      }
+    };
+    Position victimPos = Position.of(6, 6);
+    Goomba spawner = new Goomba(game, Position.of(4, 4)) {
+      @Override
+      public void update() {
+        if (!container.getObjects().contains(child)) {
+          container.add(child);
+          assertTrue(container.removeObjectAt(victimPos));
+          // Las consultas ven el cambio en seguida
+          assertEquals(child, container.getObjectAt(Position.of(2, 2)));
+          assertNull(container.getObjectAt(victimPos));
+        }
+      }
+    };
+    container.add(spawner);
+    container.add(new Goomba(game, victimPos));
+
+    container.update();
+    assertEquals(0, childUpdates[0]);
+    assertEquals(2, container.getObjects().size());
+    assertTrue(container.getObjects().contains(child));
+    container.update();
+    assertEquals(1, childUpdates[0]);
+  }
+
+  @Test
+  public void objectsRemovedDuringUpdateDieAtOnce() throws Exception {
+    Game game = new Game(-1);
+    GameObjectContainer container = new GameObjectContainer(Game.DIM_Y, Game.DIM_X);
+    Position victimPos = Position.of(6, 6);
+    int[] victimUpdates = new int[1];
+    Goomba victim = new Goomba(game, victimPos) {
+      @Override
+      public void update() {
+        victimUpdates[0]++;
+      }
+    };
+    Goomba remover = new Goomba(game, Position.of(4, 4)) {
+      @Override
+      public void update() {
+        assertTrue(container.removeObjectAt(victimPos));
+        assertFalse(victim.isAlive());
+        // Sigue en la lista hasta el final del ciclo
+        assertTrue(container.getObjects().contains(victim));
+      }
+    };
+    container.add(remover);
+    container.add(victim);
+
+    container.update();
+    assertEquals(0, victimUpdates[0]);
+    assertFalse(container.getObjects().contains(victim));
+  }
+
+  @Test
+  public void objectListIsReadOnly() throws Exception {
+    GameObjectContainer container = new GameObjectContainer(Game.DIM_Y, Game.DIM_X);
+    assertThrows(UnsupportedOperationException.class,
+        () -> container.getObjects().add(new Land(new Game(-1), Position.of(1, 1))));
+  }
+  @Test
+  public void landingCellMatchesFallingStepByStep() throws Exception {
+    Game game = new Game(-1);
+    Random random = new Random(18);
+    for (int board = 0; board < 20; board++) {
+      int rows = 2 + random.nextInt(20);
+      int cols = 1 + random.nextInt(10);
+      GameObjectContainer container = new GameObjectContainer(rows, cols);
+      for (int i = 0; i < rows * cols / 4; i++) {
+        container.add(new Land(game, Position.of(random.nextInt(rows), random.nextInt(cols))));
+      }
+      assertLandings(container, rows, cols);
+      // Al quitar y poner suelo se rehace la tabla de la columna
+      for (int i = 0; i < 10; i++) {
+        Position pos = Position.of(random.nextInt(rows), random.nextInt(cols));
+        if (!container.removeObjectAt(pos)) {
+          container.add(new Land(game, pos));
+        }
+        assertLandings(container, rows, cols);
+      }
+    }
+  }
+
+  private static void assertLandings(GameObjectContainer container, int rows, int cols) {
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        int fall = row;
+        if (!container.isSolid(Position.of(row, col))) {
+          while (fall + 1 < rows && !container.isSolid(Position.of(fall + 1, col))) {
+            fall++;
+          }
+        }
+        assertEquals(Cell.of(fall, col), container.landingCell(Cell.of(row, col)), "(" + row + "," + col + ")");
+      }
+    }
+  }
+  @Test
+  public void fillFrameMatchesPositionToString() throws Exception {
+    Game game = new Game(1);
+    for (int i = 0; i < 6; i++) {
+      game.update();
+      assertFrame(game, 0, 0, Game.DIM_Y, Game.DIM_X);
+    }
+  }
+
+  @Test
+  public void fillFrameMatchesOnScrolledWindows() throws Exception {
+    // Tablero grande con movers, Mario grande y varios objetos en una casilla
+    Path level = dir.resolve("level.txt");
+    StringBuilder text = new StringBuilder("board 40 80\n100 0 3\n(20,40) Mario RIGHT BIG\n");
+    for (int col = 0; col < 80; col++) {
+      text.append("(39,").append(col).append(") Land\n");
+    }
+    text.append("(21,40) Land\n(10,10) Mushroom\n(38,79) ExitDoor\n");
+    Files.writeString(level, text);
+    Game game = new Game(0);
+    game.setMoverStore(true);
+    game.load(level.toString());
+    for (int col = 0; col < 80; col++) {
+      game.addObject(new Goomba(game, Position.of(col % 38, col)));
+    }
+    game.addObject(new Goomba(game, Position.of(19, 40)));
+    game.addObject(new Goomba(game, Position.of(10, 10)));
+    for (int i = 0; i < 4; i++) {
+      game.update();
+      assertFrame(game, 0, 0, 15, 30);
+      assertFrame(game, 12, 31, 15, 30);
+      assertFrame(game, 25, 50, 15, 30); // llega a la última fila y columna
+    }
+  }
+
+  private static void assertFrame(Game game, int firstRow, int firstCol, int nRows, int nCols) {
+    String[] cells = new String[nRows * nCols];
+    game.fillFrame(firstRow, firstCol, nRows, nCols, cells);
+    for (int row = 0; row < nRows; row++) {
+      for (int col = 0; col < nCols; col++) {
+        assertEquals(game.positionToString(firstCol + col, firstRow + row), cells[row * nCols + col],
+            "(" + (firstRow + row) + "," + (firstCol + col) + ")");
+      }
+    }
+  }
+}
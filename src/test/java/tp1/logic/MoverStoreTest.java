@@ -0,0 +1,149 @@
+package tp1.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.logic.gameobjects.GameObject;
+import tp1.logic.gameobjects.Goomba;
+import tp1.logic.gameobjects.Mushroom;
+
+public class MoverStoreTest {
+
+  private static final Action[] MOVES = { Action.LEFT, Action.RIGHT, Action.UP, Action.DOWN, Action.STOP };
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void storeGivesTheSameGame() throws Exception {
+    // El nivel 2 (con Mushrooms y Box) se carga de un fichero: reset no vuelve a él
+    Path level2 = dir.resolve("level2.bin");
+    Game saved = new Game(2);
+    saved.saveBinary(level2.toString());
+    saved.awaitSaves();
+    for (int level = 0; level <= 2; level++) {
+      Game plain = new Game(level);
+      Game stored = new Game(level);
+      stored.setMoverStore(true);
+      if (level == 2) {
+        plain.load(level2.toString());
+        stored.load(level2.toString());
+      } else {
+        stored.reset();
+      }
+      Random random = new Random(level);
+      for (int i = 0; i < 100 && !plain.isFinished(); i++) {
+        Action action = MOVES[random.nextInt(MOVES.length)];
+        plain.addAction(action);
+        stored.addAction(action);
+        plain.update();
+        stored.update();
+        assertEquals(plain.toString(), stored.toString(), "nivel " + level + ", ciclo " + i);
+        assertEquals(frame(plain), frame(stored));
+      }
+    }
+  }
+
+  @Test
+  public void storeSurvivesSaveLoadAndUndo() throws Exception {
+    Game plain = new Game(1);
+    Game stored = new Game(1);
+    stored.setMoverStore(true);
+    plain.setUndoHistory(true);
+    stored.setUndoHistory(true);
+    Path file = dir.resolve("level.bin");
+    plain.saveBinary(file.toString());
+    plain.awaitSaves();
+    stored.load(file.toString());
+    plain.load(file.toString());
+    for (int i = 0; i < 5; i++) {
+      plain.update();
+      stored.update();
+    }
+    assertTrue(plain.undo(2));
+    assertTrue(stored.undo(2));
+    assertEquals(plain.toString(), stored.toString());
+    plain.update();
+    stored.update();
+    assertEquals(plain.toString(), stored.toString());
+  }
+
+  @Test
+  public void moversAreNotSeenByGetObjectAt() throws Exception {
+    Game game = new Game(1);
+    // El tablero del constructor nunca lleva store: el Goomba es un objeto más
+    assertTrue(game.getObjectAt(Position.of(0, 19)) instanceof Goomba);
+    game.setMoverStore(true);
+    game.reset();
+    // El Goomba de (0,19) vive en el store
+    assertEquals(tp1.view.Messages.GOOMBA, game.positionToString(19, 0));
+    assertNull(game.getObjectAt(Position.of(0, 19)));
+  }
+
+  private static String frame(Game game) {
+    StringBuilder sb = new StringBuilder();
+    for (int row = 0; row < game.getRows(); row++) {
+      for (int col = 0; col < game.getCols(); col++) {
+        sb.append(game.positionToString(col, row)).append('|');
+      }
+    }
+    return sb.toString();
+  }
+
+  @Test
+  public void nearFindsColumnWindowInInsertionOrder() throws Exception {
+    Game game = new Game(0);
+    MoverStore store = new MoverStore(game);
+    add(store, new Goomba(game, Position.of(5, 2)), 0);   // fuera, dos filas abajo
+    add(store, new Goomba(game, Position.of(4, 2)), 1);   // una abajo
+    add(store, new Mushroom(game, Position.of(3, 3)), 2); // otra columna
+    add(store, new Goomba(game, Position.of(1, 2)), 3);   // dos arriba
+    add(store, new Goomba(game, Position.of(3, 2)), 4);
+    add(store, new Goomba(game, Position.of(0, 2)), 5);   // fuera, tres arriba
+    add(store, new Goomba(game, Position.of(3, 2)), 6);   // misma casilla que 4
+    Goomba dead = new Goomba(game, Position.of(2, 2));
+    dead.dead();
+    add(store, dead, 7);
+
+    assertEquals(List.of(1, 3, 4, 6), near(store, Cell.of(3, 2)));
+    assertEquals(List.of(2), near(store, Cell.of(3, 3)));
+    assertEquals(List.of(), near(store, Cell.of(3, 0)));
+  }
+
+  @Test
+  public void nearSeesMoversAfterUpdate() throws Exception {
+    Game game = new Game(0);
+    MoverStore store = new MoverStore(game);
+    // En el aire: cae una fila en cada update
+    add(store, new Goomba(game, Position.of(0, 0)), 0);
+    assertEquals(List.of(0), near(store, Cell.of(2, 0)));
+    store.update(1);
+    store.update(1);
+    assertEquals(List.of(), near(store, Cell.of(0, 0)));
+    assertEquals(List.of(0), near(store, Cell.of(4, 0)));
+  }
+
+  private static void add(MoverStore store, GameObject obj, int order) {
+    obj.setOrder(order);
+    store.add(obj);
+  }
+
+  private static List<Integer> near(MoverStore store, int cell) {
+    List<Integer> found = new ArrayList<>();
+    int n = store.near(cell);
+    for (int k = 0; k < n; k++) {
+      found.add(store.hit(k));
+    }
+    return found;
+  }
+}
@@ -0,0 +1,73 @@
+package tp1.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PositionTest {
+
+  // La tabla es global: cada prueba empieza y acaba con la del tablero por defecto
+  @BeforeEach
+  @AfterEach
+  public void resetTable() {
+    Position.resetTable();
+  }
+
+  @Test
+  public void boardCellsAreShared() {
+    assertSame(Position.of(0, 0), Position.of(0, 0));
+    assertSame(Position.of(Game.DIM_Y - 1, Game.DIM_X - 1), Position.of(Game.DIM_Y - 1, Game.DIM_X - 1));
+    assertSame(Position.of(4, 7), Position.of(5, 7).up());
+    assertSame(Position.of(4, 7), Position.of(4, 6).move(Action.RIGHT));
+  }
+
+  @Test
+  public void frameAroundTheBoardIsShared() {
+    // Caer por debajo de la última fila o salir por un lado no crea objetos
+    assertSame(Position.of(Game.DIM_Y, 3), Position.of(Game.DIM_Y - 1, 3).down());
+    assertSame(Position.of(-1, -1), Position.of(0, 0).move(-1, -1));
+    assertSame(Position.of(-1, Game.DIM_X), Position.of(-1, Game.DIM_X));
+  }
+
+  @Test
+  public void positionsBeyondTheFrameAreCreatedAndStillEqual() {
+    Position far = Position.of(Game.DIM_Y + 5, -7);
+    assertNotSame(far, Position.of(Game.DIM_Y + 5, -7));
+    assertEquals(far, Position.of(Game.DIM_Y + 5, -7));
+    assertEquals(far.hashCode(), Position.of(Game.DIM_Y + 5, -7).hashCode());
+    assertEquals(Game.DIM_Y + 5, far.getRow());
+    assertEquals(-7, far.getCol());
+  }
+
+  @Test
+  public void tableGrowsWithTheBoard() {
+    Position before = Position.of(2, 2);
+    assertNotSame(Position.of(39, 69), Position.of(39, 69));
+    Position.reserve(40, 70);
+    assertSame(Position.of(39, 69), Position.of(39, 69));
+    assertSame(Position.of(40, 70), Position.of(40, 70)); // el marco
+    // Las que ya estaban se siguen compartiendo
+    assertSame(before, Position.of(2, 2));
+  }
+
+  @Test
+  public void everyNewBoardGrowsTheTable() {
+    // Cargar un fichero o recuperar un autoguardado no pasa por Game.newBoard
+    new GameObjectContainer(40, 70);
+    assertSame(Position.of(39, 69), Position.of(39, 69));
+  }
+
+  @Test
+  public void tooLargeBoardsKeepCreatingPositions() {
+    Position.reserve(10_000, 10_000);
+    Position pos = Position.of(9_000, 9_000);
+    assertNotSame(pos, Position.of(9_000, 9_000));
+    assertEquals(Position.of(9_000, 9_000), pos);
+    assertEquals(Position.of(9_000, 9_000).hashCode(), pos.hashCode());
+    assertEquals(9_000, pos.getRow());
+  }
+}
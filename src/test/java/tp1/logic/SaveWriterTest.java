@@ -0,0 +1,101 @@
+package tp1.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SaveWriterTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void saveKeepsTheStateOfTheMomentItIsCalled() throws Exception {
+    Path file = dir.resolve("game.txt");
+    Game game = new Game(1);
+    game.save(file.toString());
+    game.update(); // puede ir antes de que se escriba el fichero
+    game.awaitSaves();
+    assertTrue(Files.readString(file).startsWith("100 0 3\n"), Files.readString(file));
+  }
+
+  @Test
+  public void lastSaveWins() throws Exception {
+    Path file = dir.resolve("game.txt");
+    Game game = new Game(1);
+    game.save(file.toString());
+    game.update();
+    game.saveBinary(file.toString());
+    game.update();
+    game.save(file.toString());
+    game.awaitSaves();
+    assertTrue(Files.readString(file).startsWith("98 0 3\n"), Files.readString(file));
+    assertFalse(Files.exists(dir.resolve("game.txt.tmp")));
+  }
+
+  @Test
+  public void finishedSavesArePolled() throws Exception {
+    Path file = dir.resolve("game.txt");
+    Game game = new Game(1);
+    game.save(file.toString());
+    game.save(dir.resolve("missing").resolve("game.txt").toString());
+    game.awaitSaves();
+
+    SaveResult ok = game.pollSave();
+    assertEquals(file.toString(), ok.getFileName());
+    assertNull(ok.getError());
+    SaveResult failed = game.pollSave();
+    assertNotNull(failed.getError());
+    assertNull(game.pollSave());
+  }
+
+  @Test
+  public void failedWriteLeavesThePreviousFile() throws Exception {
+    Path file = dir.resolve("game.txt");
+    Files.writeString(file, "previous");
+    SaveWriter writer = new SaveWriter();
+    writer.submit(file.toString(), out -> {
+      out.write("half".getBytes());
+      throw new IOException("disk full");
+    });
+    writer.awaitAll();
+    assertNotNull(writer.poll().getError());
+    assertEquals("previous", Files.readString(file));
+    assertFalse(Files.exists(dir.resolve("game.txt.tmp")));
+  }
+
+  @Test
+  public void aSlowWriterDoesNotHoldBackOthers() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    SaveWriter slow = new SaveWriter();
+    slow.submit(dir.resolve("slow.txt").toString(), out -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      }
+    });
+    try {
+      SaveWriter fast = new SaveWriter();
+      fast.submit(dir.resolve("fast.txt").toString(), out -> out.write("fast".getBytes()));
+      fast.awaitAll();
+      assertEquals("fast", Files.readString(dir.resolve("fast.txt")));
+      assertNull(slow.poll());
+    } finally {
+      release.countDown();
+    }
+    slow.awaitAll();
+    assertNull(slow.poll().getError());
+  }
+}
@@ -0,0 +1,134 @@
+package tp1.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.logic.gameobjects.GameObject;
+import tp1.logic.gameobjects.Goomba;
+import tp1.logic.gameobjects.Land;
+
+public class UndoTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void undoRestoresThePreviousCycle() throws Exception {
+    Game game = new Game(1);
+    game.setUndoHistory(true);
+    game.update();
+    game.update();
+    String before = game.toString();
+    game.addAction(Action.RIGHT);
+    game.update();
+    game.update();
+
+    assertTrue(game.undo(2));
+    assertEquals(before, game.toString());
+    assertEquals(2, game.cycle());
+    // La partida restaurada sigue igual que la original
+    Game other = new Game(1);
+    for (int i = 0; i < 3; i++) {
+      other.update();
+    }
+    game.update();
+    assertEquals(other.toString(), game.toString());
+  }
+
+  @Test
+  public void undoWithoutHistoryDoesNothing() throws Exception {
+    Game game = new Game(0);
+    game.update();
+    assertFalse(game.undo(1));
+    assertEquals(1, game.cycle());
+  }
+
+  @Test
+  public void undoClampsToOldestCycle() throws Exception {
+    Game game = new Game(0);
+    game.setUndoHistory(true);
+    String start = game.toString();
+    for (int i = 0; i < 3; i++) {
+      game.update();
+    }
+    assertTrue(game.undo(100));
+    assertEquals(start, game.toString());
+    assertEquals(0, game.cycle());
+    assertEquals(100, game.remainingTime());
+    // Ya no hay ningún ciclo anterior
+    assertFalse(game.undo(1));
+  }
+
+  @Test
+  public void undoKeepsOnlyTheLastCycles() throws Exception {
+    Game game = new Game(0);
+    game.setUndoHistory(true);
+    for (int i = 0; i < 80; i++) {
+      game.update();
+    }
+    assertTrue(game.undo(1000));
+    // 64 instantáneas: la actual y 63 ciclos antes
+    assertEquals(80 - 63, game.cycle());
+    assertEquals(100 - (80 - 63), game.remainingTime());
+  }
+
+  @Test
+  public void resetStartsANewHistory() throws Exception {
+    Game game = new Game(0);
+    game.setUndoHistory(true);
+    game.update();
+    game.update();
+    game.reset();
+    assertFalse(game.undo(1));
+  }
+
+  @Test
+  public void undoRestoresGameResult() throws Exception {
+    Path file = dir.resolve("level.txt");
+    Files.writeString(file, "board 6 5\n1 0 3\n(4,1) Mario STOP SMALL\n(5,1) Land\n");
+    Game game = new Game(0);
+    game.setUndoHistory(true);
+    game.load(file.toString());
+    game.update();
+    game.update(); // se acaba el tiempo
+    assertTrue(game.playerLoses());
+    int cycle = game.cycle();
+
+    assertTrue(game.undo(1));
+    assertFalse(game.playerLoses());
+    assertFalse(game.isFinished());
+    assertEquals(cycle - 1, game.cycle());
+  }
+
+  @Test
+  public void restoreKeepsOrderOfSharedStatics() throws Exception {
+    Game game = new Game(0);
+    GameObjectContainer board = new GameObjectContainer(6, 5);
+    board.add(new Goomba(game, Position.of(4, 0)));
+    Land land = new Land(game, Position.of(5, 1));
+    board.add(land);
+    board.add(new Goomba(game, Position.of(4, 3)));
+    board.removeObjectAt(Position.of(4, 0)); // deja un hueco en los órdenes
+    int landOrder = land.getOrder();
+
+    GameSnapshot snapshot = board.snapshot(0, 100, 0, 3, 0, false, false);
+    GameObjectContainer restored = GameObjectContainer.restore(snapshot, 6, 5, game, null);
+    GameObjectContainer again = GameObjectContainer.restore(snapshot, 6, 5, game, null);
+
+    assertEquals(landOrder, land.getOrder());
+    assertEquals(orders(board.getObjects()), orders(restored.getObjects()));
+    assertEquals(orders(board.getObjects()), orders(again.getObjects()));
+  }
+
+  private static List<Integer> orders(List<GameObject> objects) {
+    return objects.stream().map(GameObject::getOrder).toList();
+  }
+}
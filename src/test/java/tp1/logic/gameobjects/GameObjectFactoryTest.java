@@ -0,0 +1,51 @@
+package tp1.logic.gameobjects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import tp1.exceptions.ObjectParseException;
+import tp1.logic.Game;
+
+public class GameObjectFactoryTest {
+
+  private final Game game = new Game(0);
+
+  private String reparse(String line) throws ObjectParseException {
+    return GameObjectFactory.parse(line.split(" "), game).serialize();
+  }
+
+  @Test
+  public void savedLinesParseBackToThemselves() throws Exception {
+    for (String line : new String[] { "(3,4) Mario LEFT SMALL", "(3,4) Mario STOP BIG", "(5,0) Land",
+        "(2,9) ExitDoor", "(1,7) Mushroom", "(0,3) Goomba LEFT", "(0,3) Goomba RIGHT", "(6,6) Box FULL",
+        "(6,6) Box EMPTY", "(-1,40) Land" }) {
+      assertEquals(line, reparse(line));
+    }
+  }
+
+  @Test
+  public void namesAreCaseInsensitiveAndHaveShortForms() throws Exception {
+    assertEquals("(3,4) Mario LEFT SMALL", reparse("3,4 m l s"));
+    assertEquals("(5,0) Land", reparse("(5,0) lAnD"));
+    assertEquals("(5,0) Land", reparse("(5,0) L"));
+    assertEquals("(2,9) ExitDoor", reparse("(2,9) ed"));
+    assertEquals("(1,7) Mushroom", reparse("(1,7) MU"));
+    assertEquals("(6,6) Box EMPTY", reparse("(6,6) b e"));
+    assertEquals("(0,3) Goomba RIGHT", reparse("(0,3) g r"));
+  }
+
+  @Test
+  public void goombaDirectionIsOptional() throws Exception {
+    assertEquals(reparse("(0,3) Goomba LEFT"), reparse("(0,3) Goomba"));
+  }
+
+  @Test
+  public void badLinesAreParseErrors() {
+    for (String line : new String[] { "(3,3,4) Land", "(3,x) Land", "(3,3) Dragon", "Land", "(3,3)",
+        "(99999999999,1) Land" }) {
+      assertThrows(ObjectParseException.class, () -> reparse(line), line);
+    }
+  }
+}
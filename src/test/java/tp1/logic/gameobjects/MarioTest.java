@@ -0,0 +1,80 @@
+package tp1.logic.gameobjects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.exceptions.GameLoadException;
+import tp1.logic.Action;
+import tp1.logic.Game;
+import tp1.logic.Position;
+
+public class MarioTest {
+
+  @TempDir
+  Path dir;
+
+  // Partida de 6x5 con Mario pequeño y parado en (1,1) y los objetos dados
+  private Game load(String... objects) throws IOException, GameLoadException {
+    StringBuilder level = new StringBuilder("board 6 5\n100 0 3\n(1,1) Mario STOP SMALL\n");
+    for (String obj : objects) {
+      level.append(obj).append('\n');
+    }
+    Path file = dir.resolve("level.txt");
+    Files.writeString(file, level);
+    Game game = new Game(0);
+    game.load(file.toString());
+    return game;
+  }
+
+  @Test
+  public void dropLandsOnGround() throws Exception {
+    Game game = load("(5,1) Land");
+    game.addAction(Action.DOWN);
+    game.update();
+    assertEquals(Position.of(4, 1), game.marioPosition());
+    assertEquals(3, game.numLives());
+  }
+
+  @Test
+  public void dropOntoLastRowFallsOffOnce() throws Exception {
+    // Sin suelo debajo de la última fila Mario sale del tablero, como si
+    // cayera casilla a casilla: pierde una sola vida
+    Game game = load("(5,3) Land");
+    game.addAction(Action.DOWN);
+    game.update();
+    assertEquals(2, game.numLives());
+  }
+
+  @Test
+  public void dropMatchesFallingStepByStep() throws Exception {
+    Game dropped = load("(5,3) Land");
+    dropped.addAction(Action.DOWN);
+    dropped.update();
+
+    Game fallen = load("(5,3) Land");
+    while (fallen.numLives() == 3) {
+      fallen.update();
+    }
+    assertEquals(fallen.numLives(), dropped.numLives());
+    assertEquals(fallen.points(), dropped.points());
+  }
+
+  @Test
+  public void dropLandsOnAGoombaAndStompsIt() throws Exception {
+    // La caída no interactúa casilla a casilla: el Goomba del suelo ve
+    // caer a Mario al actualizarse en el mismo ciclo
+    Game game = load("(5,1) Land");
+    game.addObject(new Goomba(game, Position.of(4, 1)));
+    game.addAction(Action.DOWN);
+    game.update();
+    assertEquals(Position.of(4, 1), game.marioPosition());
+    assertEquals(100, game.points());
+    assertEquals(3, game.numLives());
+  }
+}
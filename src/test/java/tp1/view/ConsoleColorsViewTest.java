@@ -0,0 +1,48 @@
+package tp1.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import tp1.logic.Game;
+
+public class ConsoleColorsViewTest {
+
+  private static final String[] CELLS = { Messages.EMPTY, Messages.LAND, Messages.EXIT_DOOR, Messages.GOOMBA,
+      Messages.MARIO_RIGHT, Messages.MARIO_RIGHT + Messages.GOOMBA, Messages.MARIO_STOP + Messages.EXIT_DOOR };
+
+  @Test
+  public void cachedCellsMatchFormattedOnes() {
+    ConsoleColorsView view = new ConsoleColorsView(new Game(1));
+    for (String cell : CELLS) {
+      String formatted = view.consoleCell(cell);
+      assertEquals(view.formatCell(cell), formatted);
+      assertSame(formatted, view.consoleCell(cell));
+    }
+  }
+
+  @Test
+  public void cacheIsBoundedAndStaysCorrect() {
+    ConsoleColorsView view = new ConsoleColorsView(new Game(1));
+    String first = view.consoleCell(Messages.GOOMBA);
+    // Más combinaciones distintas que el tamaño de la caché
+    for (int i = 0; i < 1000; i++) {
+      String cell = Messages.GOOMBA.repeat(1 + i % 3) + i;
+      assertEquals(view.formatCell(cell), view.consoleCell(cell));
+    }
+    String again = view.consoleCell(Messages.GOOMBA);
+    assertEquals(first, again);
+    assertNotSame(first, again); // se había ido de la caché
+  }
+
+  @Test
+  public void eachViewHasItsOwnCache() {
+    ConsoleColorsView one = new ConsoleColorsView(new Game(1));
+    ConsoleColorsView other = new ConsoleColorsView(new Game(1));
+    String cell = one.consoleCell(Messages.MARIO_LEFT);
+    assertEquals(cell, other.consoleCell(Messages.MARIO_LEFT));
+    assertNotSame(cell, other.consoleCell(Messages.MARIO_LEFT));
+  }
+}
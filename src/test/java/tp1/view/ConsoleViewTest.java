@@ -0,0 +1,131 @@
+package tp1.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.logic.Game;
+
+public class ConsoleViewTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void showGameWritesTheWholeFrameInUtf8() throws Exception {
+    ConsoleView view = new ConsoleView(new Game(1));
+    String expected = view.toString() + System.lineSeparator();
+    String frame = capture(view::showGame);
+    assertEquals(expected, frame);
+    // Los bordes no son ASCII: tienen que llegar bien codificados
+    assertTrue(frame.contains("┃"));
+  }
+
+  @Test
+  public void reusedBuffersDoNotLeakBetweenFrames() throws Exception {
+    Game game = new Game(1);
+    ConsoleView view = new ConsoleView(game);
+    capture(view::showGame);
+    game.update();
+    String expected = view.toString() + System.lineSeparator();
+    assertEquals(expected, capture(view::showGame));
+    assertTrue(expected.contains(Messages.REMAINING_TIME.formatted(game.remainingTime())));
+  }
+
+  @Test
+  public void statusLinesMatchTheMessages() throws Exception {
+    Game game = new Game(1);
+    game.update();
+    String nl = System.lineSeparator();
+    assertTrue(new ConsoleView(game).toString().startsWith(
+        Messages.REMAINING_TIME.formatted(game.remainingTime()) + nl
+        + Messages.POINTS.formatted(game.points()) + nl
+        + Messages.NUM_LIVES.formatted(game.numLives()) + nl));
+  }
+
+  @Test
+  public void framesFollowTheCharsetOfSystemOut() throws Exception {
+    ConsoleView view = new ConsoleView(new Game(1));
+    String expected = view.toString() + System.lineSeparator();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PrintStream oldOut = System.out;
+    System.setOut(new PrintStream(bytes, true, StandardCharsets.ISO_8859_1));
+    try {
+      view.showGame();
+    } finally {
+      System.setOut(oldOut);
+    }
+    // Lo que no cabe en el charset sale como '?', igual que con println
+    assertEquals(new String(expected.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.ISO_8859_1),
+        bytes.toString(StandardCharsets.ISO_8859_1));
+  }
+
+  @Test
+  public void colorFramesMatchTheirString() throws Exception {
+    ConsoleView view = new ConsoleColorsView(new Game(1));
+    String expected = view.toString() + System.lineSeparator();
+    assertEquals(expected, capture(view::showGame));
+  }
+
+  @Test
+  public void predefinedLevelsFitTheWindow() throws Exception {
+    ConsoleView view = new ConsoleView(new Game(1));
+    view.buildFrame();
+    assertEquals(0, view.firstRow);
+    assertEquals(0, view.firstCol);
+    assertEquals(ConsoleView.VIEW_ROWS, Game.DIM_Y);
+    assertEquals(ConsoleView.VIEW_COLS, Game.DIM_X);
+  }
+
+  @Test
+  public void cameraIsCentredOnMario() throws Exception {
+    ConsoleView view = new ConsoleView(bigGame(50, 120));
+    String frame = view.toString();
+    assertEquals(50 - ConsoleView.VIEW_ROWS / 2, view.firstRow);
+    assertEquals(120 - ConsoleView.VIEW_COLS / 2, view.firstCol);
+    // Las filas se numeran con las coordenadas del mundo
+    assertTrue(frame.contains(System.lineSeparator() + " 43┃"));
+    assertTrue(frame.contains("┃57" + System.lineSeparator()));
+    assertFalse(frame.contains(" 42┃"));
+    assertFalse(frame.contains("┃58"));
+  }
+
+  @Test
+  public void cameraIsClampedToTheBoard() throws Exception {
+    ConsoleView view = new ConsoleView(bigGame(98, 2));
+    view.buildFrame();
+    assertEquals(100 - ConsoleView.VIEW_ROWS, view.firstRow);
+    assertEquals(0, view.firstCol);
+  }
+
+  // Tablero de 100 x 200 con Mario pequeño en (row, col) sobre un Land
+  private Game bigGame(int row, int col) throws Exception {
+    Path level = dir.resolve("big.txt");
+    Files.writeString(level, "board 100 200\n100 0 3\n(%d,%d) Mario STOP SMALL\n(%d,%d) Land\n"
+        .formatted(row, col, row + 1, col));
+    Game game = new Game(0);
+    game.load(level.toString());
+    return game;
+  }
+
+  private static String capture(Runnable action) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PrintStream oldOut = System.out;
+    System.setOut(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+    try {
+      action.run();
+    } finally {
+      System.setOut(oldOut);
+    }
+    return bytes.toString(StandardCharsets.UTF_8);
+  }
+}
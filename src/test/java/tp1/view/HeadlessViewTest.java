@@ -0,0 +1,85 @@
+package tp1.view;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.Main;
+import tp1.control.SimulationEngine;
+import tp1.logic.Game;
+
+public class HeadlessViewTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void promptReadsScriptLinesThenExits() throws Exception {
+    Path script = dir.resolve("script.txt");
+    Files.writeString(script, "action  r r\n  update\n");
+    HeadlessView view = new HeadlessView(new Game(0), script.toString());
+    assertArrayEquals(new String[] { "action", "r", "r" }, view.getPrompt());
+    assertArrayEquals(new String[] { "update" }, view.getPrompt());
+    assertArrayEquals(new String[] { Messages.COMMAND_EXIT_NAME }, view.getPrompt());
+  }
+
+  @Test
+  public void mainPrintsOnlyTheSummary() throws Exception {
+    Path script = dir.resolve("script.txt");
+    Files.writeString(script, "update\nupdate\nupdate\n");
+    String output = runMain("1", "--headless", "--script", script.toString());
+    // Nada de tablero ni de prompt, solo el resumen final
+    Game game = new Game(1);
+    for (int i = 0; i < 3; i++) {
+      game.update();
+    }
+    assertEquals(Messages.HEADLESS_SUMMARY.formatted(Messages.PLAYER_QUITS, game.remainingTime(),
+        game.points(), game.numLives()) + System.lineSeparator(), output);
+  }
+
+  @Test
+  public void scriptsThatUseUndoCanUndo() throws Exception {
+    Path script = dir.resolve("script.txt");
+    Files.writeString(script, "update\nupdate\no 1\n");
+    String output = runMain("1", "--headless", "--script", script.toString());
+    Game game = new Game(1);
+    game.update();
+    assertEquals(Messages.HEADLESS_SUMMARY.formatted(Messages.PLAYER_QUITS, game.remainingTime(),
+        game.points(), game.numLives()) + System.lineSeparator(), output);
+  }
+
+  @Test
+  public void undoIsFoundByNameOrShortcut() throws Exception {
+    assertTrue(SimulationEngine.usesUndo(List.of("update", "  UNDO 2")));
+    assertTrue(SimulationEngine.usesUndo(List.of("o")));
+    assertFalse(SimulationEngine.usesUndo(List.of("update", "action r undo", "")));
+  }
+
+  @Test
+  public void headlessWithoutScriptPrintsUsage() throws Exception {
+    assertEquals(Messages.USAGE + System.lineSeparator(), runMain("--headless"));
+  }
+
+  private static String runMain(String... args) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PrintStream oldOut = System.out;
+    System.setOut(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+    try {
+      Main.main(args);
+    } finally {
+      System.setOut(oldOut);
+    }
+    return bytes.toString(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,152 @@
+package tp1.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tp1.logic.Game;
+import tp1.logic.Position;
+import tp1.logic.gameobjects.Goomba;
+
+public class IncrementalConsoleViewTest {
+
+  private static final int FIRST_BOARD_LINE = 7;
+  private static final int FIRST_CELL_COLUMN = ConsoleView.LATERAL_TAB_SIZE + 2;
+  private static final int PROMPT_LINE = FIRST_BOARD_LINE + Game.DIM_Y + 3;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void firstFrameIsDrawnInFull() throws Exception {
+    Game game = new Game(0);
+    IncrementalConsoleView view = new IncrementalConsoleView(game);
+    String frame = capture(view::showGame);
+    assertTrue(frame.startsWith(ConsoleColorsAnsiCodes.ANSI_CLEAR_SCREEN));
+    assertTrue(frame.contains(Messages.REMAINING_TIME.formatted(game.remainingTime())));
+  }
+
+  @Test
+  public void unchangedFrameOnlyMovesToThePrompt() throws Exception {
+    IncrementalConsoleView view = new IncrementalConsoleView(new Game(0));
+    capture(view::showGame);
+    assertEquals(cursorTo(PROMPT_LINE, 1) + ConsoleColorsAnsiCodes.ANSI_CLEAR_BELOW, capture(view::showGame));
+  }
+
+  @Test
+  public void onlyChangedCellsAreRepainted() throws Exception {
+    Game game = new Game(0);
+    IncrementalConsoleView view = new IncrementalConsoleView(game);
+    capture(view::showGame);
+    String[] before = cells(game);
+    game.update();
+    String[] after = cells(game);
+    String frame = capture(view::showGame);
+
+    int changed = 0;
+    for (int row = 0; row < Game.DIM_Y; row++) {
+      for (int col = 0; col < Game.DIM_X; col++) {
+        int i = row * Game.DIM_X + col;
+        String move = cursorTo(FIRST_BOARD_LINE + row, FIRST_CELL_COLUMN + col * ConsoleView.CELL_SIZE);
+        if (before[i].equals(after[i])) {
+          assertFalse(frame.contains(move), "casilla sin cambios repintada: " + row + "," + col);
+        } else {
+          assertTrue(frame.contains(move + view.consoleCell(after[i])), "falta la casilla " + row + "," + col);
+          changed++;
+        }
+      }
+    }
+    assertTrue(changed > 0);
+    // El tiempo baja en cada update y su línea se reescribe
+    assertTrue(frame.contains(cursorTo(1, 1) + ConsoleColorsAnsiCodes.ANSI_CLEAR_LINE
+        + Messages.REMAINING_TIME.formatted(game.remainingTime())));
+    assertFalse(frame.contains(cursorTo(3, 1)));
+  }
+
+  @Test
+  public void messageForcesAFullRedraw() throws Exception {
+    IncrementalConsoleView view = new IncrementalConsoleView(new Game(0));
+    capture(view::showGame);
+    capture(() -> view.showMessage("hola"));
+    assertTrue(capture(view::showGame).startsWith(ConsoleColorsAnsiCodes.ANSI_CLEAR_SCREEN));
+    capture(() -> view.showError("adios"));
+    assertTrue(capture(view::showGame).startsWith(ConsoleColorsAnsiCodes.ANSI_CLEAR_SCREEN));
+  }
+
+  @Test
+  public void cameraMoveForcesAFullRedraw() throws Exception {
+    Path level = dir.resolve("big.txt");
+    StringBuilder text = new StringBuilder("board 40 200\n100 0 3\n(20,100) Mario RIGHT SMALL\n");
+    for (int col = 90; col < 120; col++) {
+      text.append("(21,").append(col).append(") Land\n");
+    }
+    Files.writeString(level, text);
+    Game game = new Game(0);
+    game.load(level.toString());
+    IncrementalConsoleView view = new IncrementalConsoleView(game);
+    capture(view::showGame);
+    int firstCol = view.firstCol;
+
+    game.update(); // Mario avanza y la cámara con él
+    String frame = capture(view::showGame);
+    assertEquals(firstCol + 1, view.firstCol);
+    assertTrue(frame.startsWith(ConsoleColorsAnsiCodes.ANSI_CLEAR_SCREEN));
+  }
+
+  @Test
+  public void changedStatusLinesAreRewritten() throws Exception {
+    Path level = dir.resolve("stomp.txt");
+    Files.writeString(level, "board 10 10\n100 0 3\n(5,5) Mario STOP SMALL\n(6,5) Land\n(6,6) Land\n");
+    Game game = new Game(0);
+    game.load(level.toString());
+    game.addObject(new Goomba(game, Position.of(5, 6)));
+    IncrementalConsoleView view = new IncrementalConsoleView(game);
+    capture(view::showGame);
+    int points = game.points();
+
+    game.update(); // el Goomba choca con Mario pequeño: muere y Mario pierde una vida
+    String frame = capture(view::showGame);
+    assertTrue(game.points() > points);
+    assertEquals(2, game.numLives());
+    assertTrue(frame.contains(cursorTo(2, 1) + ConsoleColorsAnsiCodes.ANSI_CLEAR_LINE
+        + Messages.POINTS.formatted(game.points())));
+    assertTrue(frame.contains(cursorTo(3, 1) + ConsoleColorsAnsiCodes.ANSI_CLEAR_LINE
+        + Messages.NUM_LIVES.formatted(game.numLives())));
+    assertTrue(frame.endsWith(cursorTo(PROMPT_LINE, 1) + ConsoleColorsAnsiCodes.ANSI_CLEAR_BELOW));
+  }
+
+  private static String[] cells(Game game) {
+    String[] cells = new String[Game.DIM_X * Game.DIM_Y];
+    for (int row = 0; row < Game.DIM_Y; row++) {
+      for (int col = 0; col < Game.DIM_X; col++) {
+        cells[row * Game.DIM_X + col] = game.positionToString(col, row);
+      }
+    }
+    return cells;
+  }
+
+  private static String cursorTo(int line, int column) {
+    return "\u001B[" + line + ";" + column + "H";
+  }
+
+  private static String capture(Runnable action) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PrintStream oldOut = System.out;
+    System.setOut(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+    try {
+      action.run();
+    } finally {
+      System.setOut(oldOut);
+    }
+    return bytes.toString(StandardCharsets.UTF_8);
+  }
+}